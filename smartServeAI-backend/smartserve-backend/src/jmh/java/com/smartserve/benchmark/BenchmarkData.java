@@ -0,0 +1,63 @@
+package com.smartserve.benchmark;
+
+import com.smartserve.config.ForecastModelProperties;
+import com.smartserve.config.ForecastRulesProperties;
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.service.ForecastRulesEngine;
+import com.smartserve.service.HoltWintersForecaster;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final String[] EVENT_TYPES = {"Holiday Party", "Corporate Lunch", "Weekend Brunch", "Birthday Celebration", "Other"};
+    static final String[] AUDIENCE_PROFILES = {"Families", "Professionals", "Young Adults", "Students", "Mixed"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds a rules engine from the default configuration. Constructing it registers the
+     * default categories, so DTOs created afterwards resolve to real ids.
+     */
+    static ForecastRulesEngine rulesEngine() {
+        return new ForecastRulesEngine(new ForecastRulesProperties(), null, event -> { });
+    }
+
+    /**
+     * Builds a Holt-Winters model with the default smoothing parameters.
+     */
+    static HoltWintersForecaster forecaster() {
+        ForecastModelProperties properties = new ForecastModelProperties();
+        return new HoltWintersForecaster(new HoltWintersForecaster.Parameters(properties.getAlpha(), properties.getBeta(),
+                properties.getGamma(), properties.getDelta(), properties.getPhi(), properties.getMinObservations()));
+    }
+
+    static List<HistoricalDataItem> history(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        List<HistoricalDataItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int footfall = 20 + random.nextInt(300);
+            int prepared = (int) (footfall * (1.0 + random.nextDouble() * 0.5));
+            int consumed = (int) (prepared * (0.7 + random.nextDouble() * 0.3));
+            items.add(new HistoricalDataItem(
+                    start.plusDays(i % 1500).toString(),
+                    EVENT_TYPES[random.nextInt(EVENT_TYPES.length)],
+                    AUDIENCE_PROFILES[random.nextInt(AUDIENCE_PROFILES.length)],
+                    footfall, prepared, consumed));
+        }
+        return items;
+    }
+
+    static EventDetails event() {
+        return new EventDetails("Holiday Party", "Families", 150, "2024-06-01");
+    }
+}
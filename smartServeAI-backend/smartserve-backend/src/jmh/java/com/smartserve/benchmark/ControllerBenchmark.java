@@ -0,0 +1,104 @@
+package com.smartserve.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartserve.config.TrafficProperties;
+import com.smartserve.controller.FoodForecastController;
+import com.smartserve.controller.ForecastETags;
+import com.smartserve.controller.ForecastRequestLogger;
+import com.smartserve.controller.RequestLimits;
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.ForecastRequest;
+import com.smartserve.model.ForecastResponse;
+import com.smartserve.service.BatchForecastService;
+import com.smartserve.service.ConsumptionAggregateStore;
+import com.smartserve.service.FoodForecastService;
+import com.smartserve.service.ForecastCache;
+import com.smartserve.service.ForecastFeedbackService;
+import com.smartserve.service.ForecastRulesEngine;
+import com.smartserve.service.ForecastMetrics;
+import com.smartserve.service.HistoricalDataService;
+import com.smartserve.service.HoltWintersForecaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Measures the full POST /api/forecast path through MockMvc: request parsing, controller,
+ * service and response serialization, without a servlet container or database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int historySize;
+
+    private MockMvc mockMvc;
+    private byte[] requestJson;
+    private byte[] storedRequestJson;
+    private String storedETag;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ForecastRulesEngine rulesEngine = BenchmarkData.rulesEngine();
+        HistoricalDataService historicalDataService = new HistoricalDataService(new ConsumptionAggregateStore(null), null, 365);
+        HoltWintersForecaster forecaster = BenchmarkData.forecaster();
+        ForecastCache forecastCache = new ForecastCache(historicalDataService, forecaster, 10_000, 16, Duration.ofMinutes(10));
+        FoodForecastService service = new FoodForecastService(historicalDataService, rulesEngine, forecastCache,
+                new ForecastMetrics(new SimpleMeterRegistry()), forecaster);
+        // Storing forecasts goes through the database and is out of scope here.
+        ForecastFeedbackService feedbackService = new ForecastFeedbackService(null, null, null, null, null) {
+            @Override
+            public ForecastResponse record(EventDetails eventDetails, ForecastResponse response) {
+                return response;
+            }
+        };
+        ForecastETags forecastETags = new ForecastETags(rulesEngine, forecaster, historicalDataService);
+        FoodForecastController controller = new FoodForecastController(service, new BatchForecastService(service, null),
+                rulesEngine, forecastCache, feedbackService, new ForecastRequestLogger(1.0), forecastETags, new RequestLimits(new TrafficProperties()), objectMapper, 1000);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+        requestJson = objectMapper.writeValueAsBytes(new ForecastRequest(BenchmarkData.event(), BenchmarkData.history(historySize)));
+        storedRequestJson = objectMapper.writeValueAsBytes(new ForecastRequest(BenchmarkData.event(), null));
+        storedETag = forecastETags.forStoredHistory(BenchmarkData.event(), null);
+    }
+
+    @Benchmark
+    public MvcResult forecastWithRequestHistory() throws Exception {
+        return mockMvc.perform(post("/api/forecast").contentType(MediaType.APPLICATION_JSON).content(requestJson)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult forecastWithStoredHistory() throws Exception {
+        return mockMvc.perform(post("/api/forecast").contentType(MediaType.APPLICATION_JSON).content(storedRequestJson)).andReturn();
+    }
+
+    // A dashboard refresh whose copy is still current: answered with 304 before the service runs.
+    @Benchmark
+    public MvcResult forecastNotModified() throws Exception {
+        EventDetails event = BenchmarkData.event();
+        return mockMvc.perform(get("/api/forecast")
+                .param("eventType", event.getEventType())
+                .param("audienceProfile", event.getAudienceProfile())
+                .param("footfall", Integer.toString(event.getFootfall()))
+                .param("date", event.getDate())
+                .header(HttpHeaders.IF_NONE_MATCH, storedETag)).andReturn();
+    }
+}
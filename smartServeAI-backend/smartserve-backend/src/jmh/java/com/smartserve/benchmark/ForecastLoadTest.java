@@ -0,0 +1,186 @@
+package com.smartserve.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load test for {@code POST /api/forecast} against a running server.
+ * For each concurrency level, that many clients send requests back to back for a fixed time; the
+ * report gives throughput, latency percentiles and errors per level, so two runs can be compared
+ * for p99 latency and the highest concurrency served within a latency budget.
+ *
+ * <p>To compare thread-per-request with virtual threads, run it once against a server started
+ * normally and once against one built with {@code -Pjava21} and started with
+ * {@code --spring.profiles.active=virtual-threads}:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dload.args="url=http://localhost:8080 levels=50,200,800,2000 duration=20"
+ * </pre>
+ * Arguments are {@code key=value}: {@code url}, {@code levels} (comma-separated client counts),
+ * {@code duration} and {@code warmup} (seconds per level), {@code timeout} (seconds per request)
+ * and {@code trendShare} (fraction of requests sent to the database-backed trend endpoint instead).
+ * All clients share one address, so start the server with
+ * {@code --smartserve.traffic.rate-limit.enabled=false}; leave the concurrency limit on to see
+ * load shedding (503s are counted as errors) or turn it off to see unbounded queueing.
+ */
+public final class ForecastLoadTest {
+
+    private ForecastLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split > 0) {
+                options.put(arg.substring(0, split), arg.substring(split + 1));
+            }
+        }
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        int[] levels = Arrays.stream(options.getOrDefault("levels", "50,200,800,2000").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "10")));
+        double trendShare = Double.parseDouble(options.getOrDefault("trendShare", "0.1"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s %8s%n",
+                "clients", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors");
+        for (int clients : levels) {
+            run(client, url, clients, warmup, timeout, trendShare);
+            Result result = run(client, url, clients, duration, timeout, trendShare);
+            System.out.printf("%-8d %10d %10.0f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                    clients, result.latencies.length, result.latencies.length / (duration.toNanos() / 1e9),
+                    result.percentile(0.50), result.percentile(0.90), result.percentile(0.99), result.percentile(1.0),
+                    result.errors);
+        }
+    }
+
+    // Runs one level: each client loops until the deadline, recording the latency of every completed request.
+    private static Result run(HttpClient client, String url, int clients, Duration duration, Duration timeout,
+                              double trendShare) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Worker>> futures = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Worker worker = new Worker(client, url, timeout, trendShare, new SplittableRandom(i));
+            futures.add(workers.submit(() -> {
+                start.await();
+                worker.loop(System.nanoTime() + duration.toNanos());
+                return worker;
+            }));
+        }
+        start.countDown();
+        long errors = 0;
+        int total = 0;
+        List<Worker> finished = new ArrayList<>(clients);
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            finished.add(worker);
+            errors += worker.errors;
+            total += worker.count;
+        }
+        workers.shutdown();
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Worker worker : finished) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, errors);
+    }
+
+    private static final class Worker {
+        private final HttpClient client;
+        private final String url;
+        private final Duration timeout;
+        private final double trendShare;
+        private final SplittableRandom random;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        Worker(HttpClient client, String url, Duration timeout, double trendShare, SplittableRandom random) {
+            this.client = client;
+            this.url = url;
+            this.timeout = timeout;
+            this.trendShare = trendShare;
+            this.random = random;
+        }
+
+        void loop(long deadline) {
+            while (System.nanoTime() < deadline) {
+                HttpRequest request = random.nextDouble() < trendShare ? trendRequest() : forecastRequest();
+                long begin = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        errors++;
+                        continue;
+                    }
+                } catch (IOException e) {
+                    errors++;
+                    continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - begin;
+            }
+        }
+
+        // Stored-history forecast; footfall and date vary so most requests miss the forecast cache.
+        private HttpRequest forecastRequest() {
+            String eventType = BenchmarkData.EVENT_TYPES[random.nextInt(BenchmarkData.EVENT_TYPES.length)];
+            String audience = BenchmarkData.AUDIENCE_PROFILES[random.nextInt(BenchmarkData.AUDIENCE_PROFILES.length)];
+            String body = "{\"eventDetails\":{\"eventType\":\"" + eventType + "\",\"audienceProfile\":\"" + audience
+                    + "\",\"footfall\":" + (20 + random.nextInt(500))
+                    + ",\"date\":\"" + LocalDate.now().plusDays(random.nextInt(365)) + "\"}}";
+            return HttpRequest.newBuilder(URI.create(url + "/api/forecast"))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        // A read that goes to the database on every call.
+        private HttpRequest trendRequest() {
+            return HttpRequest.newBuilder(URI.create(url + "/api/forecast/items/load-test/daily?days=30"))
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+        }
+    }
+
+    private record Result(long[] latencies, long errors) {
+        double percentile(double quantile) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(quantile * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.smartserve.benchmark;
+
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.ForecastResponse;
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.MenuItemForecast;
+import com.smartserve.service.ConsumptionAggregateStore;
+import com.smartserve.service.FoodForecastService;
+import com.smartserve.service.ForecastMetrics;
+import com.smartserve.service.HistoricalDataService;
+import com.smartserve.service.HoltWintersForecaster;
+import com.smartserve.service.MenuForecastService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures FoodForecastService.predictFoodPreparation with request-supplied history of
+ * growing size, the stored-history aggregate lookup that replaces it, and a forecast and an
+ * incremental update of the time-series model trained on the same history. A ten-item menu
+ * forecast over the same history can be compared with ten single forecasts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForecastServiceBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int historySize;
+
+    private static final List<String> MENU = List.of("rice", "dal", "paneer", "naan", "salad",
+            "soup", "pasta", "curry", "dessert", "fruit");
+
+    private FoodForecastService service;
+    private MenuForecastService menuService;
+    private HistoricalDataService historicalDataService;
+    private HoltWintersForecaster forecaster;
+    private List<HistoricalDataItem> history;
+    private EventDetails event;
+    private LocalDate eventDate;
+
+    @Setup
+    public void setUp() {
+        ConsumptionAggregateStore aggregateStore = new ConsumptionAggregateStore(null);
+        historicalDataService = new HistoricalDataService(aggregateStore, null, 365);
+        forecaster = BenchmarkData.forecaster();
+        service = new FoodForecastService(historicalDataService, BenchmarkData.rulesEngine(), null,
+                new ForecastMetrics(new SimpleMeterRegistry()), forecaster);
+        menuService = new MenuForecastService(service, historicalDataService, forecaster,
+                new ForecastMetrics(new SimpleMeterRegistry()));
+        history = BenchmarkData.history(historySize);
+        for (HistoricalDataItem item : history) {
+            HistoricalRecord record = HistoricalRecord.from(HistoricalRecord.DEFAULT_VENUE, item);
+            aggregateStore.record(record);
+            forecaster.observe(record);
+        }
+        event = BenchmarkData.event();
+        eventDate = LocalDate.parse(event.getDate());
+    }
+
+    @Benchmark
+    public ForecastResponse requestHistory() {
+        return service.predictFoodPreparation(history, event.getEventTypeId(), event.getAudienceProfileId(), event.getFootfall());
+    }
+
+    @Benchmark
+    public List<MenuItemForecast> menuRequestHistory() {
+        return menuService.forecastMenu(event, MENU, history);
+    }
+
+    @Benchmark
+    public ConsumptionAggregateStore.Lookup storedHistoryLookup() {
+        return historicalDataService.consumptionSummary(
+                HistoricalRecord.DEFAULT_VENUE, event.getEventType(), event.getAudienceProfile(), eventDate);
+    }
+
+    @Benchmark
+    public double modelForecast() {
+        return forecaster.forecast(HistoricalRecord.DEFAULT_VENUE, null, event.getEventType(), eventDate);
+    }
+
+    @Benchmark
+    public void modelUpdate() {
+        forecaster.observe(HistoricalRecord.DEFAULT_VENUE, null, event.getEventType(), eventDate, 0.9);
+    }
+}
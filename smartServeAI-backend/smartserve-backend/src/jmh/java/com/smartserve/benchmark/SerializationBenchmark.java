@@ -0,0 +1,81 @@
+package com.smartserve.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.smartserve.model.ForecastRequest;
+import com.smartserve.model.ForecastResponse;
+import com.smartserve.model.HistoryColumns;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson round-tripping of the forecast request and response bodies, in JSON, CBOR
+ * and Smile, with history sent as a list of objects or in columnar form. The encoded request
+ * size is printed at setup so size and speed can be compared together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int historySize;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean columnar;
+
+    private ObjectMapper objectMapper;
+    private ForecastRequest request;
+    private byte[] requestJson;
+    private ForecastResponse response;
+    private byte[] responseJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+        BenchmarkData.rulesEngine();
+        request = new ForecastRequest(BenchmarkData.event(), BenchmarkData.history(historySize));
+        if (columnar) {
+            request.setHistoryColumns(HistoryColumns.from(request.getHistoricalData()));
+            request.setHistoricalData(null);
+        }
+        requestJson = objectMapper.writeValueAsBytes(request);
+        System.out.printf("%n%s%s request with %d events: %d bytes%n",
+                format, columnar ? " columnar" : "", historySize, requestJson.length);
+        response = new ForecastResponse(207, 93);
+        responseJson = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ForecastRequest readRequest() throws IOException {
+        return objectMapper.readValue(requestJson, ForecastRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public ForecastResponse readResponse() throws IOException {
+        return objectMapper.readValue(responseJson, ForecastResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,61 @@
+package com.smartserve.benchmark;
+
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.ForecastSimulation;
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.service.ConsumptionAggregateStore;
+import com.smartserve.service.FoodForecastService;
+import com.smartserve.service.ForecastMetrics;
+import com.smartserve.service.ForecastSimulationService;
+import com.smartserve.service.HistoricalDataService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a Monte Carlo simulation end to end (fit, parallel sampling, sort, percentiles)
+ * for growing trial counts, on one worker thread per CPU.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+
+    @Param({"10000", "50000", "200000"})
+    public int trials;
+
+    private ExecutorService executor;
+    private ForecastSimulationService service;
+    private EventDetails event;
+    private List<HistoricalDataItem> history;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        ForecastMetrics metrics = new ForecastMetrics(new SimpleMeterRegistry());
+        HistoricalDataService historicalDataService = new HistoricalDataService(new ConsumptionAggregateStore(null), null, 365);
+        FoodForecastService foodForecastService = new FoodForecastService(historicalDataService, BenchmarkData.rulesEngine(), null,
+                metrics, BenchmarkData.forecaster());
+        service = new ForecastSimulationService(foodForecastService, historicalDataService, BenchmarkData.forecaster(),
+                executor, metrics, 0.15, 0.2);
+        event = BenchmarkData.event();
+        history = BenchmarkData.history(1000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public ForecastSimulation simulate() {
+        return service.simulate(event, history, null, trials, null, 42L);
+    }
+}
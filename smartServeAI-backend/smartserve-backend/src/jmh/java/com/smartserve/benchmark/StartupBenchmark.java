@@ -0,0 +1,146 @@
+package com.smartserve.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures time from JVM launch to the first healthy response, for the startup options of the
+ * faststart build: the plain jar, lazy initialization, Spring AOT, and an AppCDS archive on top.
+ * Each variant is started several times against the same database and reported as min/median.
+ *
+ * <p>Build the jar with the faststart profile (AOT variants need its generated classes), then run:
+ * <pre>
+ * mvn -Pfaststart,benchmark package -DskipTests
+ * mvn -Pbenchmark exec:exec@startup-test -Dstartup.args="runs=5 jvmArgs=-Dspring.datasource.url=jdbc:postgresql://..."
+ * </pre>
+ * Arguments are {@code key=value}: {@code jar} (the repackaged jar), {@code runs}, {@code port},
+ * {@code classpath} (extra entries, e.g. another JDBC driver) and {@code jvmArgs} (space-separated
+ * options passed to every run). The jar is extracted first, as in the Dockerfile, because CDS
+ * archives only apply to classes loaded from plain jars.
+ */
+public final class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.smartserve.FoodForecastApplication";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split > 0) {
+                options.put(arg.substring(0, split), arg.substring(split + 1));
+            }
+        }
+        Path jar = Path.of(options.getOrDefault("jar", "target/smartserve-backend-0.0.1-SNAPSHOT.jar"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(options.getOrDefault("port", "8099"));
+        String extraClasspath = options.getOrDefault("classpath", "");
+        List<String> jvmArgs = options.getOrDefault("jvmArgs", "").isBlank()
+                ? List.of() : Arrays.asList(options.get("jvmArgs").trim().split("\\s+"));
+
+        Path work = jar.toAbsolutePath().getParent().resolve("startup");
+        run(List.of("java", "-Djarmode=tools", "-jar", jar.toString(), "extract", "--destination", work.toString(), "--force"),
+                work.resolve("extract.log"));
+        String classpath = work.resolve(jar.getFileName()) + (extraClasspath.isEmpty() ? "" : File.pathSeparator + extraClasspath);
+
+        List<String> common = new ArrayList<>(jvmArgs);
+        common.add("-Dserver.port=" + port);
+        List<String> lazy = List.of("-Dspring.profiles.active=faststart");
+        List<String> aot = List.of("-Dspring.profiles.active=faststart", "-Dspring.aot.enabled=true");
+        Path archive = work.resolve("application.jsa");
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI health = URI.create("http://localhost:" + port + "/actuator/health");
+        System.out.printf("%-22s %10s %10s%n", "variant", "min ms", "median ms");
+        report("plain", measure(client, health, command(common, List.of(), classpath), runs, work));
+        report("lazy", measure(client, health, command(common, lazy, classpath), runs, work));
+        report("aot + lazy", measure(client, health, command(common, aot, classpath), runs, work));
+
+        // Training run: start, refresh the context, exit, and dump the loaded classes.
+        List<String> training = new ArrayList<>(aot);
+        training.add("-XX:ArchiveClassesAtExit=" + archive);
+        training.add("-Dspring.context.exit=onRefresh");
+        Files.deleteIfExists(archive);
+        run(command(common, training, classpath), work.resolve("training.log"));
+        List<String> cds = new ArrayList<>(aot);
+        cds.add("-XX:SharedArchiveFile=" + archive);
+        report("aot + lazy + appcds", measure(client, health, command(common, cds, classpath), runs, work));
+    }
+
+    private static List<String> command(List<String> common, List<String> variant, String classpath) {
+        List<String> command = new ArrayList<>();
+        command.add("java");
+        command.addAll(variant);
+        command.addAll(common);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(MAIN_CLASS);
+        return command;
+    }
+
+    // Starts the server repeatedly and returns the sorted times to the first health response, in ms.
+    private static long[] measure(HttpClient client, URI health, List<String> command, int runs, Path work) throws Exception {
+        long[] times = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(work.resolve("run.log").toFile())
+                    .start();
+            try {
+                times[i] = awaitHealthy(client, health, process, start);
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+        Arrays.sort(times);
+        return times;
+    }
+
+    private static long awaitHealthy(HttpClient client, URI health, Process process, long start) throws Exception {
+        long deadline = start + Duration.ofMinutes(2).toNanos();
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(1)).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Server exited with " + process.exitValue() + "; see run.log");
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return (System.nanoTime() - start) / 1_000_000;
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Server did not become healthy within two minutes; see run.log");
+    }
+
+    private static void run(List<String> command, Path log) throws Exception {
+        Files.createDirectories(log.getParent());
+        int exit = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start().waitFor();
+        if (exit != 0) {
+            throw new IllegalStateException(String.join(" ", command) + " exited with " + exit + "; see " + log);
+        }
+    }
+
+    private static void report(String variant, long[] times) {
+        System.out.printf("%-22s %10d %10d%n", variant, times[0], times[times.length / 2]);
+    }
+}
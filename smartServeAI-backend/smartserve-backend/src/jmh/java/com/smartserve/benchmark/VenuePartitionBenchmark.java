@@ -0,0 +1,76 @@
+package com.smartserve.benchmark;
+
+import com.smartserve.service.HoltWintersForecaster;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the time-series model as the number of venues grows: every venue holds the same
+ * series, and four threads, each serving its own venue, forecast while a fifth keeps updating
+ * one venue. With per-venue partitions the forecast rate should not depend on how many other
+ * venues the model holds or on updates to a different venue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VenuePartitionBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int venues;
+
+    private static final int THREADS = 4;
+    private static final String ITEM = "rice";
+
+    private HoltWintersForecaster forecaster;
+    private LocalDate eventDate;
+    private final AtomicInteger nextThread = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        forecaster = BenchmarkData.forecaster();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        // Thread venues come first so they exist even with a single venue.
+        for (int venue = 0; venue < Math.max(venues, THREADS); venue++) {
+            for (String eventType : BenchmarkData.EVENT_TYPES) {
+                for (int day = 0; day < 60; day++) {
+                    forecaster.observe(venue(venue), ITEM, eventType, start.plusDays(day), 0.8 + (day % 7) * 0.02);
+                }
+            }
+        }
+        eventDate = start.plusDays(90);
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        String venue;
+
+        @Setup
+        public void setUp(VenuePartitionBenchmark benchmark) {
+            venue = venue(benchmark.nextThread.getAndIncrement() % THREADS);
+        }
+    }
+
+    @Benchmark
+    @Group("partitioned")
+    @GroupThreads(THREADS)
+    public double forecast(Client client) {
+        return forecaster.forecast(client.venue, ITEM, BenchmarkData.EVENT_TYPES[0], eventDate);
+    }
+
+    @Benchmark
+    @Group("partitioned")
+    @GroupThreads(1)
+    public void update() {
+        forecaster.observe("busy-venue", ITEM, BenchmarkData.EVENT_TYPES[0], eventDate, 0.9);
+    }
+
+    private static String venue(int index) {
+        return "venue-" + index;
+    }
+}
@@ -2,6 +2,7 @@ package com.smartserve;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -12,6 +13,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * It also configures Cross-Origin Resource Sharing (CORS) globally.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class FoodForecastApplication {
 
 	public static void main(String[] args) {
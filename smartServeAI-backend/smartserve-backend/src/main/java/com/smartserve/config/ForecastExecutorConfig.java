@@ -0,0 +1,37 @@
+package com.smartserve.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configures the bounded thread pool used to evaluate batch forecasts in parallel.
+ * The queue is bounded and saturation falls back to the submitting thread, so a large
+ * batch slows its own caller down instead of piling unbounded work onto the heap.
+ */
+@Configuration
+public class ForecastExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService forecastExecutor(
+            @Value("${smartserve.forecast.executor.threads:0}") int threads,
+            @Value("${smartserve.forecast.executor.queue-capacity:1000}") int queueCapacity) {
+        // Zero means one worker per available processor.
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "forecast-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
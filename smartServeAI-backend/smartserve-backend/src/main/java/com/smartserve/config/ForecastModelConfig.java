@@ -0,0 +1,48 @@
+package com.smartserve.config;
+
+import com.smartserve.service.Forecaster;
+import com.smartserve.service.HoltWintersForecaster;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Configures the time-series model used for stored-history forecasts and the pool it is trained on.
+ */
+@Configuration
+public class ForecastModelConfig {
+
+    /**
+     * Creates empty, untrained models; each training run starts from a fresh one.
+     */
+    @Bean
+    public Supplier<Forecaster> forecasterFactory(ForecastModelProperties properties) {
+        HoltWintersForecaster.Parameters parameters = new HoltWintersForecaster.Parameters(
+                properties.getAlpha(),
+                properties.getBeta(),
+                properties.getGamma(),
+                properties.getDelta(),
+                properties.getPhi(),
+                properties.getMinObservations());
+        return () -> new HoltWintersForecaster(parameters);
+    }
+
+    /**
+     * A single low-priority training thread with no queue: a run requested while another is
+     * in progress is rejected rather than stacked up behind it.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService modelTrainingExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "model-training");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,73 @@
+package com.smartserve.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Smoothing parameters of the time-series forecasting model, bound from
+ * {@code smartserve.forecast.model.*}.
+ */
+@ConfigurationProperties(prefix = "smartserve.forecast.model")
+public class ForecastModelProperties {
+
+    // Weight of a new observation in the level.
+    private double alpha = 0.3;
+    // Weight of a new observation in the trend.
+    private double beta = 0.05;
+    // Weight of a new observation in its day-of-week factor.
+    private double gamma = 0.1;
+    // Weight of a new observation in its week-of-year factor.
+    private double delta = 0.05;
+    // Trend damping per day; 1 disables damping.
+    private double phi = 0.98;
+    // Observations a series needs before the model is used instead of the plain average.
+    private int minObservations = 3;
+
+    // --- Getters and Setters for the fields ---
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(double alpha) {
+        this.alpha = alpha;
+    }
+
+    public double getBeta() {
+        return beta;
+    }
+
+    public void setBeta(double beta) {
+        this.beta = beta;
+    }
+
+    public double getGamma() {
+        return gamma;
+    }
+
+    public void setGamma(double gamma) {
+        this.gamma = gamma;
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    public void setDelta(double delta) {
+        this.delta = delta;
+    }
+
+    public double getPhi() {
+        return phi;
+    }
+
+    public void setPhi(double phi) {
+        this.phi = phi;
+    }
+
+    public int getMinObservations() {
+        return minObservations;
+    }
+
+    public void setMinObservations(int minObservations) {
+        this.minObservations = minObservations;
+    }
+}
@@ -0,0 +1,62 @@
+package com.smartserve.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configured forecast multipliers, bound from {@code smartserve.forecast.rules.*}.
+ * The defaults reproduce the original rule-based model; entries can be added or
+ * overridden in configuration (e.g. {@code smartserve.forecast.rules.event-types[Gala Dinner]=1.2})
+ * or in the forecast_rule table.
+ */
+@ConfigurationProperties(prefix = "smartserve.forecast.rules")
+public class ForecastRulesProperties {
+
+    // Initial base forecast: food per expected attendee before any adjustment.
+    private double baseMultiplier = 1.2;
+
+    // Adjustments by event type.
+    private Map<String, Double> eventTypes = new LinkedHashMap<>(Map.of(
+            "Holiday Party", 1.15, // Increase for holiday parties (higher consumption).
+            "Corporate Lunch", 0.95, // Decrease slightly for corporate lunches (more controlled portions).
+            "Weekend Brunch", 1.08, // Slight increase for brunches.
+            "Birthday Celebration", 1.0, // No specific adjustment for birthdays.
+            "Other", 1.0 // No specific adjustment for 'Other' event types.
+    ));
+
+    // Adjustments by audience profile.
+    private Map<String, Double> audienceProfiles = new LinkedHashMap<>(Map.of(
+            "Families", 1.07, // Families might consume slightly more per person.
+            "Professionals", 0.98, // Professionals might consume slightly less.
+            "Young Adults", 1.05, // Young adults might consume more.
+            "Students", 1.10, // Students might consume more.
+            "Mixed", 1.0 // No specific adjustment for 'Mixed' audience.
+    ));
+
+    // --- Getters and Setters for the fields ---
+    public double getBaseMultiplier() {
+        return baseMultiplier;
+    }
+
+    public void setBaseMultiplier(double baseMultiplier) {
+        this.baseMultiplier = baseMultiplier;
+    }
+
+    public Map<String, Double> getEventTypes() {
+        return eventTypes;
+    }
+
+    public void setEventTypes(Map<String, Double> eventTypes) {
+        this.eventTypes = eventTypes;
+    }
+
+    public Map<String, Double> getAudienceProfiles() {
+        return audienceProfiles;
+    }
+
+    public void setAudienceProfiles(Map<String, Double> audienceProfiles) {
+        this.audienceProfiles = audienceProfiles;
+    }
+}
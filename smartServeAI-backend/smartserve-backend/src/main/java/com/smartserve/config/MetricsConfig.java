@@ -0,0 +1,197 @@
+package com.smartserve.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartserve.service.ForecastMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Wires forecast metrics into Spring MVC.
+ * The JSON message converter is replaced by an instrumented one that times deserialization
+ * and serialization and records request and response body sizes; other converters can be
+ * wrapped in {@link InstrumentedConverter} to record the same metrics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper, ForecastMetrics forecastMetrics) {
+        return new InstrumentedJacksonConverter(objectMapper, forecastMetrics);
+    }
+
+    /**
+     * Jackson converter that records deserialization and serialization time and body sizes.
+     */
+    static class InstrumentedJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+        private final ForecastMetrics forecastMetrics;
+
+        InstrumentedJacksonConverter(ObjectMapper objectMapper, ForecastMetrics forecastMetrics) {
+            super(objectMapper);
+            this.forecastMetrics = forecastMetrics;
+        }
+
+        @Override
+        public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+                throws IOException, HttpMessageNotReadableException {
+            long start = System.nanoTime();
+            Object value = super.read(type, contextClass, inputMessage);
+            forecastMetrics.recordDeserialization(start, inputMessage.getHeaders().getContentLength());
+            return value;
+        }
+
+        @Override
+        protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            long start = System.nanoTime();
+            CountingOutputStream body = new CountingOutputStream(outputMessage.getBody());
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            forecastMetrics.recordSerialization(start, body.count);
+        }
+    }
+
+    /**
+     * Wraps another converter to record the same deserialization and serialization metrics.
+     */
+    static class InstrumentedConverter implements GenericHttpMessageConverter<Object> {
+
+        private final GenericHttpMessageConverter<Object> delegate;
+        private final ForecastMetrics forecastMetrics;
+
+        InstrumentedConverter(GenericHttpMessageConverter<Object> delegate, ForecastMetrics forecastMetrics) {
+            this.delegate = delegate;
+            this.forecastMetrics = forecastMetrics;
+        }
+
+        @Override
+        public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+            return delegate.canRead(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+            return delegate.canRead(type, contextClass, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+            return delegate.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+            return delegate.canWrite(type, clazz, mediaType);
+        }
+
+        @Override
+        public List<MediaType> getSupportedMediaTypes() {
+            return delegate.getSupportedMediaTypes();
+        }
+
+        @Override
+        public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+            return delegate.getSupportedMediaTypes(clazz);
+        }
+
+        @Override
+        public Object read(Class<?> clazz, HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException {
+            return read(clazz, null, inputMessage);
+        }
+
+        @Override
+        public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+                throws IOException, HttpMessageNotReadableException {
+            long start = System.nanoTime();
+            Object value = delegate.read(type, contextClass, inputMessage);
+            forecastMetrics.recordDeserialization(start, inputMessage.getHeaders().getContentLength());
+            return value;
+        }
+
+        @Override
+        public void write(Object object, @Nullable MediaType contentType, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            write(object, null, contentType, outputMessage);
+        }
+
+        @Override
+        public void write(Object object, @Nullable Type type, @Nullable MediaType contentType, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            long start = System.nanoTime();
+            CountingOutputMessage counting = new CountingOutputMessage(outputMessage);
+            delegate.write(object, type, contentType, counting);
+            forecastMetrics.recordSerialization(start, counting.body != null ? counting.body.count : 0);
+        }
+    }
+
+    // Counts the body bytes. The body is only opened when the delegate asks for it, because
+    // opening a servlet response body commits the headers the delegate has yet to set.
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage outputMessage;
+        private CountingOutputStream body;
+
+        CountingOutputMessage(HttpOutputMessage outputMessage) {
+            this.outputMessage = outputMessage;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingOutputStream(outputMessage.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return outputMessage.getHeaders();
+        }
+    }
+
+    // Counts the bytes written through it.
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.smartserve.config;
+
+import com.smartserve.model.FoodForecast;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.repository.BulkInsertRepository;
+import com.smartserve.service.CommittedHistoryHandler;
+import com.smartserve.service.WriteBehindQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Configures the write-behind queues that batch history and forecast inserts
+ * off the request threads.
+ */
+@Configuration
+public class PersistenceConfig {
+
+    @Value("${smartserve.write-behind.capacity:10000}")
+    private int capacity;
+    @Value("${smartserve.write-behind.batch-size:500}")
+    private int batchSize;
+    @Value("${smartserve.write-behind.max-delay:PT0.2S}")
+    private Duration maxDelay;
+    @Value("${smartserve.write-behind.offer-timeout:PT1S}")
+    private Duration offerTimeout;
+
+    /**
+     * History writes. Each committed batch is handed to the {@link CommittedHistoryHandler}.
+     */
+    @Bean
+    public WriteBehindQueue<HistoricalRecord> historyWriteBehind(BulkInsertRepository bulkInsertRepository,
+                                                                 TransactionTemplate transactionTemplate,
+                                                                 CommittedHistoryHandler committedHistoryHandler) {
+        return new WriteBehindQueue<>("history", records -> {
+            transactionTemplate.executeWithoutResult(status -> bulkInsertRepository.insertHistory(records));
+            committedHistoryHandler.committed(records);
+        }, capacity, batchSize, maxDelay, offerTimeout);
+    }
+
+    /**
+     * Forecast writes.
+     */
+    @Bean
+    public WriteBehindQueue<FoodForecast> forecastWriteBehind(BulkInsertRepository bulkInsertRepository,
+                                                              TransactionTemplate transactionTemplate) {
+        return new WriteBehindQueue<>("forecast", forecasts ->
+                transactionTemplate.executeWithoutResult(status -> bulkInsertRepository.insertForecasts(forecasts)),
+                capacity, batchSize, maxDelay, offerTimeout);
+    }
+}
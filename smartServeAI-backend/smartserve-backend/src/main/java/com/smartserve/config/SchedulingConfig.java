@@ -0,0 +1,12 @@
+package com.smartserve.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's @Scheduled support for periodic background jobs.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,6 +2,8 @@ package com.smartserve.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.web.servlet.config.annotation.*;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -16,8 +18,15 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Reloading the rules changes every forecast served, so only the admin account may trigger it.
+                        .requestMatchers(HttpMethod.POST, "/api/forecast/rules/reload").hasRole("ADMIN")
+                        // Retraining or rolling back the model does the same to every stored-history forecast.
+                        .requestMatchers(HttpMethod.POST, "/api/forecast/model/**").hasRole("ADMIN")
+                        // A refresh reforecasts and rewrites a whole venue's upcoming forecasts.
+                        .requestMatchers(HttpMethod.POST, "/api/forecast/upcoming/refresh").hasRole("ADMIN")
                         .anyRequest().permitAll()
-                );
+                )
+                .httpBasic(Customizer.withDefaults());
 
         return http.build();
     }
@@ -0,0 +1,30 @@
+package com.smartserve.config;
+
+import com.smartserve.controller.TrafficControlFilter;
+import com.smartserve.service.AdaptiveConcurrencyLimiter;
+import com.smartserve.service.ClientRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the traffic control filter ahead of every other filter, including Spring Security,
+ * so excess or oversized requests are turned away before any work is done for them.
+ */
+@Configuration
+public class TrafficConfig {
+
+    @Bean
+    public FilterRegistrationBean<TrafficControlFilter> trafficControlFilter(TrafficProperties trafficProperties,
+                                                                             ClientRateLimiter rateLimiter,
+                                                                             AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                                                             MeterRegistry registry) {
+        FilterRegistrationBean<TrafficControlFilter> registration = new FilterRegistrationBean<>(
+                new TrafficControlFilter(trafficProperties, rateLimiter, concurrencyLimiter, registry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
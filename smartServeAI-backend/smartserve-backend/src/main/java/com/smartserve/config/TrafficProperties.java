@@ -0,0 +1,193 @@
+package com.smartserve.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits applied to API traffic before it reaches the controllers, bound from
+ * {@code smartserve.traffic.*}: per-client rate limits, request size caps and the
+ * adaptive concurrency limit.
+ */
+@ConfigurationProperties(prefix = "smartserve.traffic")
+public class TrafficProperties {
+
+    // Largest request body accepted.
+    private DataSize maxRequestSize = DataSize.ofMegabytes(10);
+    // Path patterns (Ant style, matched on the servlet path) exempt from the body cap because they stream large uploads by design.
+    private List<String> unlimitedBodyPaths = new ArrayList<>(List.of("/api/forecast/history/import"));
+    // Largest number of history items (rows or columnar entries) accepted in one forecast request.
+    private int maxHistoryItems = 100_000;
+    private final RateLimit rateLimit = new RateLimit();
+    private final Concurrency concurrency = new Concurrency();
+
+    /**
+     * Token bucket per client, keyed on the remote address.
+     */
+    public static class RateLimit {
+        private boolean enabled = true;
+        // Bucket size: requests a client may send in one burst.
+        private int burst = 100;
+        // Tokens added per second: a client's sustained request rate.
+        private double requestsPerSecond = 50;
+        // Most clients tracked at once; idle clients are dropped first.
+        private long maxClients = 100_000;
+        // Idle time after which a client's bucket is dropped (it is full again by then).
+        private Duration idleTimeout = Duration.ofMinutes(10);
+
+        // --- Getters and Setters for the fields ---
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public long getMaxClients() {
+            return maxClients;
+        }
+
+        public void setMaxClients(long maxClients) {
+            this.maxClients = maxClients;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+    }
+
+    /**
+     * AIMD limit on requests in flight: raised by one per window of fast requests, cut by the
+     * backoff ratio when a request exceeds the latency target. Requests to the latency-exempt
+     * paths still count as in flight, but their latency does not move the limit.
+     */
+    public static class Concurrency {
+        private boolean enabled = true;
+        // Limit at startup.
+        private int initialLimit = 200;
+        // Bounds of the limit.
+        private int minLimit = 10;
+        private int maxLimit = 2000;
+        // Latency above which a request counts as a sign of overload.
+        private Duration latencyTarget = Duration.ofMillis(500);
+        // Factor the limit is multiplied by on overload.
+        private double backoffRatio = 0.9;
+        // Path patterns (Ant style, matched on the servlet path) of endpoints that are slow by design.
+        private List<String> latencyExemptPaths = new ArrayList<>(List.of("/api/forecast/history/import",
+                "/api/forecast/batch", "/api/forecast/model/retrain", "/api/forecast/upcoming/refresh"));
+
+        // --- Getters and Setters for the fields ---
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Duration getLatencyTarget() {
+            return latencyTarget;
+        }
+
+        public void setLatencyTarget(Duration latencyTarget) {
+            this.latencyTarget = latencyTarget;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public List<String> getLatencyExemptPaths() {
+            return latencyExemptPaths;
+        }
+
+        public void setLatencyExemptPaths(List<String> latencyExemptPaths) {
+            this.latencyExemptPaths = latencyExemptPaths;
+        }
+    }
+
+    // --- Getters and Setters for the fields ---
+    public DataSize getMaxRequestSize() {
+        return maxRequestSize;
+    }
+
+    public void setMaxRequestSize(DataSize maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    public List<String> getUnlimitedBodyPaths() {
+        return unlimitedBodyPaths;
+    }
+
+    public void setUnlimitedBodyPaths(List<String> unlimitedBodyPaths) {
+        this.unlimitedBodyPaths = unlimitedBodyPaths;
+    }
+
+    public int getMaxHistoryItems() {
+        return maxHistoryItems;
+    }
+
+    public void setMaxHistoryItems(int maxHistoryItems) {
+        this.maxHistoryItems = maxHistoryItems;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+}
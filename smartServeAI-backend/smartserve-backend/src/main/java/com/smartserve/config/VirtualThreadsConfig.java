@@ -0,0 +1,29 @@
+package com.smartserve.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Active with the {@code virtual-threads} profile. Warns at startup when the runtime is too old
+ * for virtual threads, since Spring Boot then silently keeps the platform thread pool.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkRuntime() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            log.warn("virtual-threads profile is active but the runtime is Java {}; requests run on platform threads", feature);
+        } else {
+            log.info("Serving requests on virtual threads (Java {})", feature);
+        }
+    }
+}
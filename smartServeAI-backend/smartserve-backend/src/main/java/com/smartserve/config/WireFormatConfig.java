@@ -0,0 +1,44 @@
+package com.smartserve.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.smartserve.service.ForecastMetrics;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the binary wire formats: CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}). Both encode the same DTOs as the JSON API, with binary
+ * numbers and, for Smile, back-references for repeated field names and short strings, so large
+ * history payloads shrink and parse faster. Clients opt in with Content-Type and Accept;
+ * the converters are placed after JSON, so JSON stays the default.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+    private final ForecastMetrics forecastMetrics;
+
+    public WireFormatConfig(Jackson2ObjectMapperBuilder objectMapperBuilder, ForecastMetrics forecastMetrics) {
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.forecastMetrics = forecastMetrics;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replace Spring's defaults, which do not share the application's Jackson configuration.
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        ObjectMapper cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        converters.add(new MetricsConfig.InstrumentedConverter(new MappingJackson2CborHttpMessageConverter(cborMapper), forecastMetrics));
+        converters.add(new MetricsConfig.InstrumentedConverter(new MappingJackson2SmileHttpMessageConverter(smileMapper), forecastMetrics));
+    }
+}
@@ -1,11 +1,31 @@
 package com.smartserve.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartserve.model.BatchForecastRequest;
+import com.smartserve.model.BatchForecastResult;
+import com.smartserve.model.EventDetails;
 import com.smartserve.model.ForecastRequest;
 import com.smartserve.model.ForecastResponse;
+import com.smartserve.service.BatchForecastService;
 import com.smartserve.service.FoodForecastService;
+import com.smartserve.service.ForecastCache;
+import com.smartserve.service.ForecastFeedbackService;
+import com.smartserve.service.ForecastRulesEngine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for handling food preparation forecasting requests.
@@ -17,45 +37,203 @@ import org.springframework.web.bind.annotation.*;
 public class FoodForecastController {
 
     private final FoodForecastService foodForecastService;
+    private final BatchForecastService batchForecastService;
+    private final ForecastRulesEngine forecastRulesEngine;
+    private final ForecastCache forecastCache;
+    private final ForecastFeedbackService forecastFeedbackService;
+    private final ForecastRequestLogger requestLogger;
+    private final ForecastETags forecastETags;
+    private final RequestLimits requestLimits;
+    private final ObjectMapper objectMapper;
+    // Largest number of events accepted in one batch request.
+    private final int maxBatchSize;
 
     /**
      * Constructor for FoodForecastController. Spring's @Autowired
-     * annotation handles injecting the FoodForecastService dependency.
+     * annotation handles injecting the service dependencies.
      */
     @Autowired
-    public FoodForecastController(FoodForecastService foodForecastService) {
+    public FoodForecastController(FoodForecastService foodForecastService,
+                                  BatchForecastService batchForecastService,
+                                  ForecastRulesEngine forecastRulesEngine,
+                                  ForecastCache forecastCache,
+                                  ForecastFeedbackService forecastFeedbackService,
+                                  ForecastRequestLogger requestLogger,
+                                  ForecastETags forecastETags,
+                                  RequestLimits requestLimits,
+                                  ObjectMapper objectMapper,
+                                  @Value("${smartserve.forecast.batch.max-size:1000}") int maxBatchSize) {
         this.foodForecastService = foodForecastService;
+        this.batchForecastService = batchForecastService;
+        this.forecastRulesEngine = forecastRulesEngine;
+        this.forecastCache = forecastCache;
+        this.forecastFeedbackService = forecastFeedbackService;
+        this.requestLogger = requestLogger;
+        this.forecastETags = forecastETags;
+        this.requestLimits = requestLimits;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
     }
 
     /**
      * Endpoint to get food preparation forecast based on historical data and event details.
-     * In a real application, the historical data might be fetched from a database
-     * rather than being sent with each request.
+     * When the request carries no historical data, the history is read from the
+     * server-side store for the event's venue, event type and date window. History may also be
+     * sent in columnar form (historyColumns), and the body may be CBOR or Smile instead of JSON.
+     * Every forecast is stored; report the actual outcome against the returned forecast id.
+     * Each response carries a new forecast id, so it has no ETag; clients that poll should use GET.
      *
-     * @param request Contains historical data and details for the new event.
-     * @return A ForecastResponse object with the predicted food quantity.
+     * @param request Contains the details for the new event and, optionally, historical data.
+     * @return A ForecastResponse object with the predicted food quantity and the forecast id.
      */
     @PostMapping // Maps HTTP POST requests to this method.
     public ResponseEntity<ForecastResponse> getFoodForecast(@RequestBody ForecastRequest request) {
-        // Log the incoming request for debugging
-        System.out.println("Received forecast request:");
-        // Access event details from the nested object
-        System.out.println("  Event Type: " + request.getEventDetails().getEventType());
-        System.out.println("  Audience Profile: " + request.getEventDetails().getAudienceProfile());
-        System.out.println("  Footfall: " + request.getEventDetails().getFootfall());
-        System.out.println("  Event Date: " + request.getEventDetails().getDate()); // Log date
-        System.out.println("  Historical Data Items: " + request.getHistoricalData().size());
-
-        // Call the service layer to perform the actual food preparation prediction.
-        // We pass individual fields from the nested EventDetails object to the service method.
-        ForecastResponse response = foodForecastService.predictFoodPreparation(
-                request.getHistoricalData(),
-                request.getEventDetails().getEventType(), // Pass individual fields from EventDetails
-                request.getEventDetails().getAudienceProfile(),
-                request.getEventDetails().getFootfall()
-        );
+        if (request.getEventDetails() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Event details are missing");
+        }
+        requestLimits.checkHistory(request.getHistoricalData());
+        requestLimits.checkHistory(request.getHistoryColumns());
+        // Log the incoming request (structured, sampled and asynchronous).
+        requestLogger.forecastRequest(request.getEventDetails(), request.getHistoricalData(), request.getHistoryColumns());
+
+        ForecastResponse response;
+        try {
+            if (request.getHistoryColumns() != null) {
+                // Columnar history: computed straight from the primitive arrays.
+                request.getHistoryColumns().validate();
+                response = foodForecastService.predictFoodPreparation(
+                        request.getHistoryColumns(),
+                        request.getEventDetails().getEventTypeId(),
+                        request.getEventDetails().getAudienceProfileId(),
+                        request.getEventDetails().getFootfall()
+                );
+            } else if (request.getHistoricalData() == null) {
+                // No history in the body: read it from the server-side store.
+                response = foodForecastService.predictFromStoredHistory(request.getEventDetails());
+            } else {
+                // Call the service layer to perform the actual food preparation prediction.
+                // We pass individual fields from the nested EventDetails object to the service method.
+                response = foodForecastService.predictFoodPreparation(
+                        request.getHistoricalData(),
+                        request.getEventDetails().getEventTypeId(), // Pass ids resolved at deserialization
+                        request.getEventDetails().getAudienceProfileId(),
+                        request.getEventDetails().getFootfall()
+                );
+            }
+            response = forecastFeedbackService.record(request.getEventDetails(), response);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid event date: " + e.getParsedString());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
 
         // Return an HTTP 200 OK response with the ForecastResponse body.
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Read-only forecast of an event from stored history, for dashboards that poll.
+     * Unlike POST, the forecast is not stored and carries no forecast id. Responses carry an
+     * ETag, and a matching If-None-Match is answered with 304 before anything is computed.
+     *
+     * @param eventType The type of the event.
+     * @param audienceProfile The audience profile of the event.
+     * @param footfall The expected number of attendees.
+     * @param date The event date (yyyy-MM-dd); today when omitted.
+     * @param venue The venue; the default venue when omitted.
+     * @param itemName The menu item; all items when omitted.
+     * @param ifNoneMatch The ETag of a forecast the client already holds, if any.
+     * @param accept The requested representation; part of the ETag.
+     * @return The forecast, or 304 if the client's copy is current.
+     */
+    @GetMapping
+    public ResponseEntity<ForecastResponse> getStoredHistoryForecast(
+            @RequestParam String eventType,
+            @RequestParam String audienceProfile,
+            @RequestParam int footfall,
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String venue,
+            @RequestParam(required = false) String itemName,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        EventDetails eventDetails = new EventDetails(eventType, audienceProfile, footfall, date);
+        eventDetails.setVenue(venue);
+        eventDetails.setItemName(itemName);
+        try {
+            String etag = forecastETags.forStoredHistory(eventDetails, accept);
+            if (ForecastETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+            ForecastResponse response = foodForecastService.predictFromStoredHistory(eventDetails);
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(response);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid event date: " + e.getParsedString());
+        }
+    }
+
+    /**
+     * Endpoint to forecast many events in one call.
+     * Events are evaluated in parallel and the results are streamed back as a JSON array
+     * in request order, each written as soon as it and all earlier results are ready.
+     * A failing event yields an entry with an error message instead of failing the batch.
+     *
+     * @param request The events to forecast and, optionally, history shared by all of them.
+     * @return A streamed JSON array of BatchForecastResult objects.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> getBatchForecast(@RequestBody BatchForecastRequest request) {
+        if (request.getEvents() == null || request.getEvents().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No events to forecast");
+        }
+        if (request.getEvents().size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch exceeds " + maxBatchSize + " events");
+        }
+
+        requestLimits.checkHistory(request.getHistoricalData());
+        requestLogger.batchRequest(request.getEvents().size(), request.getHistoricalData());
+
+        List<CompletableFuture<BatchForecastResult>> results =
+                batchForecastService.forecastAll(request.getEvents(), request.getHistoricalData());
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                for (CompletableFuture<BatchForecastResult> future : results) {
+                    BatchForecastResult result = future.join();
+                    if (result.getForecast() != null) {
+                        try {
+                            forecastFeedbackService.record(request.getEvents().get(result.getIndex()), result.getForecast());
+                        } catch (DateTimeParseException e) {
+                            // An event with an unparseable date is still forecast, just not stored.
+                        }
+                    }
+                    objectMapper.writeValue(generator, result);
+                    generator.flush();
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Endpoint to reload the forecast rules from configuration and the database immediately,
+     * instead of waiting for the periodic reload. Requires the admin account (HTTP Basic).
+     *
+     * @return The version of the newly published rule set.
+     */
+    @PostMapping("/rules/reload")
+    public ResponseEntity<Map<String, Long>> reloadRules() {
+        return ResponseEntity.ok(Map.of("version", forecastRulesEngine.reload().version()));
+    }
+
+    /**
+     * Endpoint exposing the forecast cache statistics.
+     *
+     * @return Hit/miss counts, hit ratio, stale drops, evictions and current size.
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Number>> getCacheStats() {
+        return ResponseEntity.ok(forecastCache.stats());
+    }
+}
@@ -0,0 +1,102 @@
+package com.smartserve.controller;
+
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.service.Forecaster;
+import com.smartserve.service.ForecastRulesEngine;
+import com.smartserve.service.HistoricalDataService;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Computes strong ETags for stored-history forecasts without running the forecast.
+ * A stored-history forecast is fully determined by the event inputs, the rules version, the
+ * model version and generation of the item series, and the history generation of the venue's
+ * event type; the ETag hashes exactly those, plus the requested representation. Versions are read
+ * before any forecast is computed, so a concurrent update can only make an ETag look older than
+ * the response, never newer, and the next request then misses.
+ */
+@Component
+public class ForecastETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ForecastRulesEngine forecastRulesEngine;
+    private final Forecaster forecaster;
+    private final HistoricalDataService historicalDataService;
+
+    public ForecastETags(ForecastRulesEngine forecastRulesEngine,
+                         Forecaster forecaster,
+                         HistoricalDataService historicalDataService) {
+        this.forecastRulesEngine = forecastRulesEngine;
+        this.forecaster = forecaster;
+        this.historicalDataService = historicalDataService;
+    }
+
+    /**
+     * @param eventDetails The event to forecast from stored history.
+     * @param accept The request's Accept header, or null; JSON, CBOR and Smile bodies get different tags.
+     * @return The quoted ETag of the forecast the current state would produce.
+     */
+    public String forStoredHistory(EventDetails eventDetails, String accept) {
+        String venue = eventDetails.getVenue() != null ? eventDetails.getVenue() : HistoricalRecord.DEFAULT_VENUE;
+        // Undated events are forecast for today, so their tag changes daily too.
+        LocalDate eventDate = eventDetails.getLocalDate() != null ? eventDetails.getLocalDate() : LocalDate.now();
+        long hash = FNV_OFFSET;
+        hash = mix(hash, venue);
+        hash = mix(hash, eventDetails.getItemName());
+        hash = mix(hash, eventDetails.getEventType());
+        hash = mix(hash, eventDetails.getAudienceProfile());
+        hash = mix(hash, eventDetails.getFootfall());
+        hash = mix(hash, eventDate.toEpochDay());
+        hash = mix(hash, forecastRulesEngine.current().version());
+        hash = mix(hash, forecaster.version());
+        hash = mix(hash, forecaster.generation(venue, eventDetails.getItemName(), eventDetails.getEventType()));
+        hash = mix(hash, historicalDataService.historyGeneration(venue, eventDetails.getEventType()));
+        hash = mix(hash, accept);
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Evaluates an If-None-Match header against an ETag, using weak comparison as RFC 9110 asks.
+     * "*" is not a match: it guards unsafe methods against overwriting, and on a read it would
+     * otherwise answer every poll with 304 without the client ever holding the forecast.
+     * @param ifNoneMatch The header value, or null.
+     * @param etag The quoted current ETag.
+     * @return True if the client already holds the current representation.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 64-bit FNV-1a over the value's characters, with a separator so adjacent fields cannot run together.
+    private static long mix(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return (hash ^ 0x1f) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,60 @@
+package com.smartserve.controller;
+
+import com.smartserve.model.ForecastActuals;
+import com.smartserve.service.ForecastAccuracyTracker;
+import com.smartserve.service.ForecastFeedbackService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * REST Controller for reporting actual outcomes against stored forecasts and reading the
+ * resulting forecast accuracy.
+ */
+@RestController
+@RequestMapping("/api/forecast")
+public class ForecastFeedbackController {
+
+    private final ForecastFeedbackService forecastFeedbackService;
+
+    public ForecastFeedbackController(ForecastFeedbackService forecastFeedbackService) {
+        this.forecastFeedbackService = forecastFeedbackService;
+    }
+
+    /**
+     * Endpoint to record the food actually prepared and consumed for a forecast event.
+     * Each forecast accepts one report.
+     *
+     * @param id The forecast id returned with the forecast.
+     * @param actuals The actual quantities and, optionally, the actual footfall.
+     * @return The forecast and consumed quantities and the forecast error.
+     */
+    @PostMapping("/{id:\\d+}/actuals")
+    public ResponseEntity<Map<String, Object>> recordActuals(@PathVariable long id, @RequestBody ForecastActuals actuals) {
+        try {
+            return ResponseEntity.ok(forecastFeedbackService.recordActuals(id, actuals));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint exposing running forecast accuracy per event type; "*" covers all event types.
+     *
+     * @param venue The venue to report on; all venues together when omitted.
+     * @return Outcomes recorded, MAE, MAPE and bias per event type.
+     */
+    @GetMapping("/accuracy")
+    public ResponseEntity<Map<String, ForecastAccuracyTracker.Accuracy>> getAccuracy(
+            @RequestParam(defaultValue = ForecastAccuracyTracker.ALL_VENUES) String venue) {
+        return ResponseEntity.ok(forecastFeedbackService.accuracy(venue));
+    }
+}
@@ -0,0 +1,61 @@
+package com.smartserve.controller;
+
+import com.smartserve.service.ForecastModelRegistry;
+import com.smartserve.service.ForecastModelTrainer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for inspecting, retraining and rolling back the forecasting model.
+ */
+@RestController
+@RequestMapping("/api/forecast/model")
+public class ForecastModelController {
+
+    private final ForecastModelTrainer forecastModelTrainer;
+    private final ForecastModelRegistry forecastModelRegistry;
+
+    public ForecastModelController(ForecastModelTrainer forecastModelTrainer, ForecastModelRegistry forecastModelRegistry) {
+        this.forecastModelTrainer = forecastModelTrainer;
+        this.forecastModelRegistry = forecastModelRegistry;
+    }
+
+    /**
+     * Lists recent training runs with the version currently served and those available for rollback.
+     */
+    @GetMapping("/versions")
+    public Map<String, Object> versions() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("active", forecastModelRegistry.version());
+        body.put("retained", forecastModelRegistry.retainedVersions());
+        body.put("versions", forecastModelTrainer.versions());
+        return body;
+    }
+
+    /**
+     * Starts a training run in the background. Requires the admin account (HTTP Basic).
+     * @return 202 if the run was started, 409 if one is already in progress.
+     */
+    @PostMapping("/retrain")
+    public ResponseEntity<Map<String, Boolean>> retrain() {
+        boolean started = forecastModelTrainer.retrain();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).body(Map.of("started", started));
+    }
+
+    /**
+     * Serves a previously published model version again. Requires the admin account (HTTP Basic).
+     * @param version The version to restore.
+     */
+    @PostMapping("/rollback")
+    public Map<String, Long> rollback(@RequestParam long version) {
+        if (!forecastModelTrainer.rollback(version)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Model version " + version + " is not retained");
+        }
+        return Map.of("active", version);
+    }
+}
@@ -0,0 +1,90 @@
+package com.smartserve.controller;
+
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.model.HistoryColumns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Emits structured, sampled request events for the forecast endpoints.
+ * Events go to the {@code com.smartserve.requests} logger, which logback-spring.xml routes
+ * through a bounded asynchronous appender. The level check comes first, so when the logger
+ * is off a call costs one comparison and builds nothing.
+ */
+@Component
+public class ForecastRequestLogger {
+
+    private static final Logger log = LoggerFactory.getLogger("com.smartserve.requests");
+
+    // Fraction of requests that are logged, between 0.0 and 1.0.
+    private final double sampleRate;
+
+    public ForecastRequestLogger(@Value("${smartserve.logging.requests.sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Logs a single-event forecast request. historyItems counts the history sent as rows or
+     * columns, and is -1 when the request uses stored history.
+     * @param eventDetails The event being forecast.
+     * @param historicalData The history sent with the request as rows, or null.
+     * @param historyColumns The history sent with the request as columns, or null.
+     */
+    void forecastRequest(EventDetails eventDetails, List<HistoricalDataItem> historicalData, HistoryColumns historyColumns) {
+        if (!log.isInfoEnabled() || !sampled()) {
+            return;
+        }
+        log.atInfo()
+                .setMessage("forecast request")
+                .addKeyValue("eventType", eventDetails.getEventType())
+                .addKeyValue("audienceProfile", eventDetails.getAudienceProfile())
+                .addKeyValue("footfall", eventDetails.getFootfall())
+                .addKeyValue("date", eventDetails.getDate() != null ? eventDetails.getDate() : eventDetails.getEpochDay())
+                .addKeyValue("venue", eventDetails.getVenue())
+                .addKeyValue("historyItems", historicalData != null ? historicalData.size()
+                        : historyColumns != null ? historyColumns.size() : -1)
+                .log();
+    }
+
+    /**
+     * Logs a batch forecast request.
+     * @param events Number of events in the batch.
+     * @param historicalData The shared history, or null when stored history is used.
+     */
+    void batchRequest(int events, List<HistoricalDataItem> historicalData) {
+        if (!log.isInfoEnabled() || !sampled()) {
+            return;
+        }
+        log.atInfo()
+                .setMessage("batch forecast request")
+                .addKeyValue("events", events)
+                .addKeyValue("historyItems", historicalData != null ? historicalData.size() : -1)
+                .log();
+    }
+
+    /**
+     * Logs a history ingest.
+     * @param venue The venue the history belongs to.
+     * @param items Number of records ingested.
+     */
+    void historyIngest(String venue, int items) {
+        if (!log.isInfoEnabled() || !sampled()) {
+            return;
+        }
+        log.atInfo()
+                .setMessage("history ingest")
+                .addKeyValue("venue", venue)
+                .addKeyValue("items", items)
+                .log();
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,72 @@
+package com.smartserve.controller;
+
+import com.smartserve.model.ForecastRequest;
+import com.smartserve.model.ForecastSimulation;
+import com.smartserve.service.ForecastSimulationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.format.DateTimeParseException;
+
+/**
+ * REST Controller for simulating the uncertainty of a forecast.
+ */
+@RestController
+@RequestMapping("/api/forecast/simulate")
+public class ForecastSimulationController {
+
+    private final ForecastSimulationService forecastSimulationService;
+    private final RequestLimits requestLimits;
+    // Largest number of trials accepted in one request.
+    private final int maxTrials;
+
+    public ForecastSimulationController(ForecastSimulationService forecastSimulationService,
+                                        RequestLimits requestLimits,
+                                        @Value("${smartserve.forecast.simulation.max-trials:200000}") int maxTrials) {
+        this.forecastSimulationService = forecastSimulationService;
+        this.requestLimits = requestLimits;
+        this.maxTrials = maxTrials;
+    }
+
+    /**
+     * Runs a Monte Carlo simulation of an event's demand and returns the P10/P50/P90 quantities,
+     * each with the expected leftover and shortfall if that quantity is prepared.
+     * Takes the same body as {@code POST /api/forecast}; history is optional.
+     *
+     * @param request The event and, optionally, historical data (rows or columns).
+     * @param trials Number of trials.
+     * @param footfallCv Coefficient of variation of attendance; fitted or defaulted when omitted.
+     * @param seed Seed for a reproducible result.
+     * @return The fitted inputs and the simulated percentiles.
+     */
+    @PostMapping
+    public ForecastSimulation simulate(@RequestBody ForecastRequest request,
+                                       @RequestParam(defaultValue = "20000") int trials,
+                                       @RequestParam(required = false) Double footfallCv,
+                                       @RequestParam(required = false) Long seed) {
+        if (request.getEventDetails() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Event details are missing");
+        }
+        if (trials < 1 || trials > maxTrials) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "trials must be between 1 and " + maxTrials);
+        }
+        if (footfallCv != null && !(footfallCv >= 0 && footfallCv <= 5)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "footfallCv must be between 0 and 5");
+        }
+        requestLimits.checkHistory(request.getHistoricalData());
+        requestLimits.checkHistory(request.getHistoryColumns());
+        try {
+            if (request.getHistoryColumns() != null) {
+                request.getHistoryColumns().validate();
+            }
+            return forecastSimulationService.simulate(request.getEventDetails(), request.getHistoricalData(),
+                    request.getHistoryColumns(), trials, footfallCv, seed);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid event date: " + e.getParsedString());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
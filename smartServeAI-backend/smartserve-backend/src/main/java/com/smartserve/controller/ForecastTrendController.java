@@ -0,0 +1,64 @@
+package com.smartserve.controller;
+
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.WeeklyForecastTotal;
+import com.smartserve.repository.FoodForecastRepository.DailyTotal;
+import com.smartserve.service.ForecastTrendService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for reading stored forecast trends per item of a venue.
+ */
+@RestController
+@RequestMapping("/api/forecast/items/{itemName}")
+public class ForecastTrendController {
+
+    private final ForecastTrendService forecastTrendService;
+
+    public ForecastTrendController(ForecastTrendService forecastTrendService) {
+        this.forecastTrendService = forecastTrendService;
+    }
+
+    /**
+     * Daily totals for an item, either between {@code from} and {@code to} or over the last {@code days} days.
+     */
+    @GetMapping("/daily")
+    public List<DailyTotal> daily(@PathVariable String itemName,
+                                  @RequestParam(defaultValue = HistoricalRecord.DEFAULT_VENUE) String venue,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                  @RequestParam(required = false) Integer days) {
+        try {
+            if (days != null) {
+                return forecastTrendService.lastDays(venue, itemName, days);
+            }
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("Either days or both from and to are required");
+            }
+            return forecastTrendService.daily(venue, itemName, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Weekly totals for an item between {@code from} and {@code to}. Weeks start on Monday.
+     */
+    @GetMapping("/weekly")
+    public List<WeeklyForecastTotal> weekly(@PathVariable String itemName,
+                                            @RequestParam(defaultValue = HistoricalRecord.DEFAULT_VENUE) String venue,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return forecastTrendService.weekly(venue, itemName, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.smartserve.controller;
+
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.ImportReport;
+import com.smartserve.service.HistoricalDataService;
+import com.smartserve.service.HistoryImportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * REST Controller for loading historical event data into the server-side store.
+ * Forecast requests that omit historical data read it from this store.
+ */
+@RestController
+@RequestMapping("/api/forecast/history")
+public class HistoricalDataController {
+
+    private final HistoricalDataService historicalDataService;
+    private final HistoryImportService historyImportService;
+    private final ForecastRequestLogger requestLogger;
+    // Longest a durable ingest waits for its records to be committed.
+    private final Duration ackTimeout;
+
+    public HistoricalDataController(HistoricalDataService historicalDataService,
+                                    HistoryImportService historyImportService,
+                                    ForecastRequestLogger requestLogger,
+                                    @Value("${smartserve.write-behind.ack-timeout:PT30S}") Duration ackTimeout) {
+        this.historicalDataService = historicalDataService;
+        this.historyImportService = historyImportService;
+        this.requestLogger = requestLogger;
+        this.ackTimeout = ackTimeout;
+    }
+
+    /**
+     * Endpoint to ingest historical event data into the server-side store.
+     * History only needs to be sent once; later forecasts for the venue can omit it.
+     * Records are written in batches behind the request. By default the response waits until
+     * they are committed, up to the acknowledgement timeout; with ack=none it returns 202 as soon
+     * as they are queued.
+     *
+     * @param venue The venue the history belongs to.
+     * @param ack "durable" to wait for the commit, "none" to return once queued.
+     * @param items The historical data items to store.
+     * @return The number of records saved or queued.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Integer>> ingestHistory(
+            @RequestParam(defaultValue = HistoricalRecord.DEFAULT_VENUE) String venue,
+            @RequestParam(defaultValue = "durable") String ack,
+            @RequestBody List<HistoricalDataItem> items) {
+        CompletableFuture<Integer> saved;
+        try {
+            saved = historicalDataService.ingest(venue, items);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid history date: " + e.getParsedString());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+        requestLogger.historyIngest(venue, items.size());
+        if ("none".equals(ack)) {
+            return ResponseEntity.accepted().body(Map.of("queued", items.size()));
+        }
+        try {
+            return ResponseEntity.ok(Map.of("saved", saved.get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+        } catch (ExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "History could not be saved", e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "History was queued but not committed within " + ackTimeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for history to be saved");
+        }
+    }
+
+    /**
+     * Endpoint to bulk-import historical data as CSV (with a header row) or NDJSON.
+     * The body is streamed and written in batches, so its size is not limited by memory.
+     * If an import is interrupted, sending the same data again with the same importId
+     * resumes after the last committed batch.
+     *
+     * @param venue The venue the history belongs to.
+     * @param importId Identifier of the import; a new one is generated when omitted.
+     * @param contentType text/csv or application/x-ndjson.
+     * @param body The request body stream.
+     * @return Counts, throughput and the first validation errors; 409 if the same import is already running.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReport> importHistory(
+            @RequestParam(defaultValue = HistoricalRecord.DEFAULT_VENUE) String venue,
+            @RequestParam(required = false) String importId,
+            @RequestHeader("Content-Type") MediaType contentType,
+            InputStream body) throws IOException {
+        HistoryImportService.Format format = MediaType.valueOf("text/csv").includes(contentType)
+                ? HistoryImportService.Format.CSV
+                : HistoryImportService.Format.NDJSON;
+        try {
+            ImportReport report = historyImportService.importHistory(
+                    venue, body, format, importId != null ? importId : UUID.randomUUID().toString());
+            requestLogger.historyIngest(venue, (int) report.getAccepted());
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (ConcurrencyFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+}
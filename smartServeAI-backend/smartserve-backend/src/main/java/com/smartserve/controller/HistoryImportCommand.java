@@ -0,0 +1,65 @@
+package com.smartserve.controller;
+
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.ImportReport;
+import com.smartserve.service.HistoryImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point for bulk history imports. Active only when an import file is given:
+ *
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none \
+ *     --smartserve.import.file=history.csv --smartserve.import.venue=downtown
+ * </pre>
+ *
+ * The file name is used as the import id, so re-running the same command after an
+ * interruption resumes where it stopped. The application exits when the import is done.
+ */
+@Component
+@ConditionalOnProperty("smartserve.import.file")
+public class HistoryImportCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryImportCommand.class);
+
+    private final HistoryImportService historyImportService;
+    private final ApplicationContext applicationContext;
+    private final Path file;
+    private final String venue;
+
+    public HistoryImportCommand(HistoryImportService historyImportService,
+                                ApplicationContext applicationContext,
+                                @Value("${smartserve.import.file}") Path file,
+                                @Value("${smartserve.import.venue:" + HistoricalRecord.DEFAULT_VENUE + "}") String venue) {
+        this.historyImportService = historyImportService;
+        this.applicationContext = applicationContext;
+        this.file = file;
+        this.venue = venue;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String name = file.getFileName().toString().toLowerCase();
+        HistoryImportService.Format format = name.endsWith(".csv") ? HistoryImportService.Format.CSV : HistoryImportService.Format.NDJSON;
+        ImportReport report;
+        try (InputStream input = Files.newInputStream(file)) {
+            report = historyImportService.importHistory(venue, input, format, file.getFileName().toString());
+        }
+        log.info("Imported {}: {} accepted, {} rejected, {} skipped as already imported, {} rows/s",
+                file, report.getAccepted(), report.getRejected(), report.getRowsSkipped(), Math.round(report.getRowsPerSecond()));
+        report.getErrors().forEach(error -> log.warn("Rejected {}", error));
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+}
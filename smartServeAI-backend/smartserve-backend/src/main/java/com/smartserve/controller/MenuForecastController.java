@@ -0,0 +1,77 @@
+package com.smartserve.controller;
+
+import com.smartserve.model.MenuForecastRequest;
+import com.smartserve.model.MenuForecastResponse;
+import com.smartserve.model.MenuItemForecast;
+import com.smartserve.service.ForecastFeedbackService;
+import com.smartserve.service.MenuForecastService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * REST Controller for forecasting every item of an event's menu in one call.
+ */
+@RestController
+@RequestMapping("/api/forecast/menu")
+public class MenuForecastController {
+
+    private final MenuForecastService menuForecastService;
+    private final ForecastFeedbackService forecastFeedbackService;
+    private final ForecastRequestLogger requestLogger;
+    private final RequestLimits requestLimits;
+    // Largest number of menu items accepted in one request.
+    private final int maxItems;
+
+    public MenuForecastController(MenuForecastService menuForecastService,
+                                  ForecastFeedbackService forecastFeedbackService,
+                                  ForecastRequestLogger requestLogger,
+                                  RequestLimits requestLimits,
+                                  @Value("${smartserve.forecast.menu.max-items:200}") int maxItems) {
+        this.menuForecastService = menuForecastService;
+        this.forecastFeedbackService = forecastFeedbackService;
+        this.requestLogger = requestLogger;
+        this.requestLimits = requestLimits;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Forecasts each menu item for an event and returns the per-item breakdown with totals.
+     * Each item's forecast is stored under that item name, so actuals can be reported per dish.
+     *
+     * @param request The event, its menu items and, optionally, historical data.
+     * @return One forecast per distinct item, in request order, and their totals.
+     */
+    @PostMapping
+    public MenuForecastResponse forecastMenu(@RequestBody MenuForecastRequest request) {
+        if (request.getEventDetails() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Event details are missing");
+        }
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Menu items are missing");
+        }
+        if (request.getItems().size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Menu has more than " + maxItems + " items");
+        }
+        if (request.getItems().contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Menu item names must not be null");
+        }
+        requestLimits.checkHistory(request.getHistoricalData());
+        requestLogger.forecastRequest(request.getEventDetails(), request.getHistoricalData(), null);
+
+        try {
+            List<MenuItemForecast> items = menuForecastService.forecastMenu(
+                    request.getEventDetails(), request.getItems(), request.getHistoricalData());
+            for (MenuItemForecast item : items) {
+                forecastFeedbackService.record(request.getEventDetails(), item.getItemName(), item.getForecast());
+            }
+            return new MenuForecastResponse(items, request.getEventDetails().getFootfall());
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid event date: " + e.getParsedString());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.smartserve.controller;
+
+import com.smartserve.config.TrafficProperties;
+import com.smartserve.model.HistoryColumns;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Per-request size limits checked once the body is parsed.
+ */
+@Component
+public class RequestLimits {
+
+    private final int maxHistoryItems;
+
+    public RequestLimits(TrafficProperties trafficProperties) {
+        this.maxHistoryItems = trafficProperties.getMaxHistoryItems();
+    }
+
+    /**
+     * Refuses history longer than {@code smartserve.traffic.max-history-items} with 413.
+     * @param history The history sent with a request, or null.
+     */
+    public void checkHistory(List<?> history) {
+        if (history != null) {
+            checkHistorySize(history.size());
+        }
+    }
+
+    /**
+     * Same as {@link #checkHistory(List)}, for columnar history.
+     * @param history The history sent with a request, or null.
+     */
+    public void checkHistory(HistoryColumns history) {
+        if (history != null) {
+            checkHistorySize(history.size());
+        }
+    }
+
+    private void checkHistorySize(int size) {
+        if (size > maxHistoryItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "History has " + size + " items, at most " + maxHistoryItems + " are accepted");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartserve.controller;
+
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.ScheduledEvent;
+import com.smartserve.service.ScheduledEventService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * REST Controller for a venue's schedule of upcoming events, whose forecasts are materialized ahead of time.
+ */
+@RestController
+@RequestMapping("/api/events")
+public class ScheduledEventController {
+
+    private final ScheduledEventService scheduledEventService;
+
+    public ScheduledEventController(ScheduledEventService scheduledEventService) {
+        this.scheduledEventService = scheduledEventService;
+    }
+
+    /**
+     * Endpoint to add one-off or recurring events to a venue's schedule.
+     *
+     * @param venue The venue hosting the events.
+     * @param events The events to schedule.
+     * @return The saved events with their ids.
+     */
+    @PostMapping
+    public ResponseEntity<List<ScheduledEvent>> schedule(
+            @RequestParam(defaultValue = HistoricalRecord.DEFAULT_VENUE) String venue,
+            @RequestBody List<ScheduledEvent> events) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(scheduledEventService.schedule(venue, events));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Lists a venue's scheduled events.
+     */
+    @GetMapping
+    public List<ScheduledEvent> list(@RequestParam(defaultValue = HistoricalRecord.DEFAULT_VENUE) String venue) {
+        return scheduledEventService.list(venue);
+    }
+
+    /**
+     * Removes an event from the schedule.
+     * @param id The event id.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable long id) {
+        try {
+            scheduledEventService.cancel(id);
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.smartserve.controller;
+
+import com.smartserve.config.TrafficProperties;
+import com.smartserve.service.AdaptiveConcurrencyLimiter;
+import com.smartserve.service.ClientRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Guards the API before any body is read, cheapest check first:
+ * oversized bodies are refused with 413, clients over their rate with 429, and requests beyond
+ * the adaptive concurrency limit with 503. Rejections carry Retry-After and are counted in
+ * {@code traffic.rejected}. Bodies without a Content-Length are capped while they are read.
+ * Clients are told apart by their remote address. Exempt paths are matched on the servlet path,
+ * which the container has already decoded and normalized.
+ * Registered by {@link com.smartserve.config.TrafficConfig}.
+ */
+public class TrafficControlFilter extends OncePerRequestFilter {
+
+    private static final PathMatcher PATHS = new AntPathMatcher();
+
+    private final TrafficProperties trafficProperties;
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Counter bodyRejections;
+    private final Counter rateRejections;
+    private final Counter concurrencyRejections;
+
+    public TrafficControlFilter(TrafficProperties trafficProperties,
+                                ClientRateLimiter rateLimiter,
+                                AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                MeterRegistry registry) {
+        this.trafficProperties = trafficProperties;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.bodyRejections = Counter.builder("traffic.rejected").tag("reason", "body-size").register(registry);
+        this.rateRejections = Counter.builder("traffic.rejected").tag("reason", "rate-limit").register(registry);
+        this.concurrencyRejections = Counter.builder("traffic.rejected").tag("reason", "concurrency").register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long maxBody = trafficProperties.getMaxRequestSize().toBytes();
+        String path = path(request);
+        boolean bodyLimited = !matches(trafficProperties.getUnlimitedBodyPaths(), path);
+        if (bodyLimited && request.getContentLengthLong() > maxBody) {
+            bodyRejections.increment();
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body exceeds " + maxBody + " bytes");
+            return;
+        }
+
+        if (trafficProperties.getRateLimit().isEnabled()) {
+            long wait = rateLimiter.tryAcquire(request.getRemoteAddr());
+            if (wait > 0) {
+                rateRejections.increment();
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L))));
+                response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded");
+                return;
+            }
+        }
+
+        boolean limited = trafficProperties.getConcurrency().isEnabled();
+        if (limited && !concurrencyLimiter.tryAcquire()) {
+            concurrencyRejections.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is at capacity");
+            return;
+        }
+
+        boolean measured = !matches(trafficProperties.getConcurrency().getLatencyExemptPaths(), path);
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(bodyLimited ? new LimitedBodyRequest(request, maxBody) : request, response);
+            if (limited && request.isAsyncStarted()) {
+                // Streaming responses finish after this method returns; release when they do.
+                request.getAsyncContext().addListener(new ReleaseListener(start, measured));
+                async = true;
+            }
+        } finally {
+            if (limited && !async) {
+                release(start, measured);
+            }
+        }
+    }
+
+    // Path within the application, whichever way the dispatcher servlet is mapped.
+    private static String path(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo != null ? request.getServletPath() + pathInfo : request.getServletPath();
+    }
+
+    private static boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (PATHS.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void release(long start, boolean measured) {
+        if (measured) {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        } else {
+            concurrencyLimiter.release();
+        }
+    }
+
+    private final class ReleaseListener implements AsyncListener {
+        private final long start;
+        private final boolean measured;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseListener(long start, boolean measured) {
+            this.start = start;
+            this.measured = measured;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                TrafficControlFilter.this.release(start, measured);
+            }
+        }
+    }
+
+    /**
+     * Caps the body while it is read, for requests that did not declare their length.
+     */
+    private static final class LimitedBodyRequest extends HttpServletRequestWrapper {
+        private final long maxBytes;
+        private ServletInputStream stream;
+
+        LimitedBodyRequest(HttpServletRequest request, long maxBytes) {
+            super(request);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new LimitedInputStream(super.getInputStream(), maxBytes);
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    private static final class LimitedInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+        private final long maxBytes;
+        private long read;
+
+        LimitedInputStream(ServletInputStream delegate, long maxBytes) {
+            this.delegate = delegate;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = delegate.read();
+            if (value >= 0) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = delegate.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        // Thrown unchecked so message converters do not turn it into a 400.
+        private void count(int n) {
+            read += n;
+            if (read > maxBytes) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + maxBytes + " bytes");
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
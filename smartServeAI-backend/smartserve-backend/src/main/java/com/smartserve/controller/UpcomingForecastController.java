@@ -0,0 +1,60 @@
+package com.smartserve.controller;
+
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.repository.FoodForecastRepository.MaterializedForecast;
+import com.smartserve.service.ForecastMaterializationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * REST Controller serving the materialized forecasts of a venue's scheduled events.
+ * Reads come straight from the forecast table; ad-hoc what-if forecasts still go through {@code /api/forecast}.
+ */
+@RestController
+@RequestMapping("/api/forecast/upcoming")
+public class UpcomingForecastController {
+
+    private final ForecastMaterializationService forecastMaterializationService;
+
+    public UpcomingForecastController(ForecastMaterializationService forecastMaterializationService) {
+        this.forecastMaterializationService = forecastMaterializationService;
+    }
+
+    /**
+     * Forecasts for the venue's scheduled events over the coming days. Each carries the forecast id
+     * actuals can be reported against.
+     *
+     * @param venue The venue.
+     * @param days How many days ahead, today included.
+     * @return The forecasts, soonest first.
+     */
+    @GetMapping
+    public List<MaterializedForecast> upcoming(@RequestParam(defaultValue = HistoricalRecord.DEFAULT_VENUE) String venue,
+                                               @RequestParam(defaultValue = "14") int days) {
+        try {
+            return forecastMaterializationService.upcoming(venue, days);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes the venue's upcoming forecasts now instead of waiting for the next scheduled run.
+     * If a refresh is already running (e.g. the nightly one), the venue is queued for the next
+     * changed-venue run and the answer is 202 without a body. Requires the admin account (HTTP Basic).
+     *
+     * @param venue The venue.
+     * @return How many forecasts were written, refreshed and removed, or 202 if the refresh was queued.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ForecastMaterializationService.Result> refresh(
+            @RequestParam(defaultValue = HistoricalRecord.DEFAULT_VENUE) String venue) {
+        return forecastMaterializationService.tryMaterialize(venue)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.accepted().build());
+    }
+}
@@ -0,0 +1,47 @@
+package com.smartserve.model;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the request body for batch forecasting.
+ * It carries many events to forecast in one call, plus an optional history shared by all of them.
+ */
+public class BatchForecastRequest {
+    // Events to forecast; results are returned in the same order.
+    private List<EventDetails> events;
+    // Optional history shared by every event. When omitted, each event uses the server-side store.
+    private List<HistoricalDataItem> historicalData;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public BatchForecastRequest() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param events The events to forecast.
+     * @param historicalData History shared by all events, or null to use stored history.
+     */
+    public BatchForecastRequest(List<EventDetails> events, List<HistoricalDataItem> historicalData) {
+        this.events = events;
+        this.historicalData = historicalData;
+    }
+
+    // --- Getters and Setters for the fields ---
+    public List<EventDetails> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<EventDetails> events) {
+        this.events = events;
+    }
+
+    public List<HistoricalDataItem> getHistoricalData() {
+        return historicalData;
+    }
+
+    public void setHistoricalData(List<HistoricalDataItem> historicalData) {
+        this.historicalData = historicalData;
+    }
+}
@@ -0,0 +1,60 @@
+package com.smartserve.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of one event in a batch forecast.
+ * Exactly one of forecast and error is set, so a failing event does not fail the whole batch.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchForecastResult {
+    // Position of the event in the request.
+    private int index;
+    // The forecast, when it succeeded.
+    private ForecastResponse forecast;
+    // The error message, when it failed.
+    private String error;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public BatchForecastResult() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param index Position of the event in the request.
+     * @param forecast The forecast, or null on failure.
+     * @param error The error message, or null on success.
+     */
+    public BatchForecastResult(int index, ForecastResponse forecast, String error) {
+        this.index = index;
+        this.forecast = forecast;
+        this.error = error;
+    }
+
+    // --- Getters and Setters for the fields ---
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public ForecastResponse getForecast() {
+        return forecast;
+    }
+
+    public void setForecast(ForecastResponse forecast) {
+        this.forecast = forecast;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,54 @@
+package com.smartserve.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interned integer ids for categorical values such as event types and audience profiles.
+ * Names are resolved to ids once, when a request is deserialized, so the forecasting hot path
+ * indexes flat arrays instead of hashing strings. Ids are stable for the life of the process;
+ * only the forecast rules register new names, so client input cannot grow the dictionary.
+ */
+public final class CategoryDictionary {
+
+    // Id returned for null or unregistered names; its multiplier is always neutral.
+    public static final int UNKNOWN = 0;
+
+    public static final CategoryDictionary EVENT_TYPES = new CategoryDictionary();
+    public static final CategoryDictionary AUDIENCE_PROFILES = new CategoryDictionary();
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(UNKNOWN + 1);
+
+    private CategoryDictionary() {
+    }
+
+    /**
+     * @param name The category name.
+     * @return The id of the name, or {@link #UNKNOWN} if it has not been registered.
+     */
+    public int lookup(String name) {
+        if (name == null) {
+            return UNKNOWN;
+        }
+        Integer id = ids.get(name);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Registers a name, returning its existing id if it is already known.
+     * @param name The category name.
+     * @return The id of the name.
+     */
+    public int register(String name) {
+        return ids.computeIfAbsent(name, key -> nextId.getAndIncrement());
+    }
+
+    /**
+     * @return One more than the highest id handed out so far.
+     */
+    public int size() {
+        return nextId.get();
+    }
+}
@@ -1,5 +1,10 @@
 package com.smartserve.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
 /**
  * Data Transfer Object (DTO) representing the details of an event.
  * This class is used as a nested object within the ForecastRequest
@@ -10,10 +15,20 @@ public class EventDetails {
     private String eventType;
     // Profile of the audience attending the event (e.g., "Mixed", "Families").
     private String audienceProfile;
+    // Interned ids of eventType and audienceProfile, resolved once when the names are set.
+    private int eventTypeId;
+    private int audienceProfileId;
     // Expected number of attendees for the event.
     private int footfall;
     // Date of the event.
     private String date;
+    // Date of the event as days since 1970-01-01, and the date parsed from either field.
+    private Long epochDay;
+    private LocalDate localDate;
+    // Venue hosting the event; used to look up stored history when none is sent.
+    private String venue;
+    // Menu item to forecast; null forecasts the whole menu.
+    private String itemName;
 
     /**
      * Default constructor for JSON deserialization.
@@ -29,8 +44,8 @@ public class EventDetails {
      * @param date The date of the event.
      */
     public EventDetails(String eventType, String audienceProfile, int footfall, String date) {
-        this.eventType = eventType;
-        this.audienceProfile = audienceProfile;
+        setEventType(eventType);
+        setAudienceProfile(audienceProfile);
         this.footfall = footfall;
         this.date = date;
     }
@@ -42,6 +57,12 @@ public class EventDetails {
 
     public void setEventType(String eventType) {
         this.eventType = eventType;
+        this.eventTypeId = CategoryDictionary.EVENT_TYPES.lookup(eventType);
+    }
+
+    @JsonIgnore
+    public int getEventTypeId() {
+        return eventTypeId;
     }
 
     public String getAudienceProfile() {
@@ -50,6 +71,12 @@ public class EventDetails {
 
     public void setAudienceProfile(String audienceProfile) {
         this.audienceProfile = audienceProfile;
+        this.audienceProfileId = CategoryDictionary.AUDIENCE_PROFILES.lookup(audienceProfile);
+    }
+
+    @JsonIgnore
+    public int getAudienceProfileId() {
+        return audienceProfileId;
     }
 
     public int getFootfall() {
@@ -66,5 +93,50 @@ public class EventDetails {
 
     public void setDate(String date) {
         this.date = date;
+        this.localDate = null;
+    }
+
+    /**
+     * @return Days since 1970-01-01; an alternative to {@code date} for compact clients.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long getEpochDay() {
+        return epochDay;
+    }
+
+    public void setEpochDay(Long epochDay) {
+        this.epochDay = epochDay;
+        this.localDate = null;
+    }
+
+    /**
+     * @return The date, parsed once from epochDay or date; null if neither is set.
+     */
+    @JsonIgnore
+    public LocalDate getLocalDate() {
+        if (localDate == null) {
+            if (epochDay != null) {
+                localDate = LocalDate.ofEpochDay(epochDay);
+            } else if (date != null) {
+                localDate = LocalDate.parse(date);
+            }
+        }
+        return localDate;
+    }
+
+    public String getVenue() {
+        return venue;
+    }
+
+    public void setVenue(String venue) {
+        this.venue = venue;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
     }
 }
\ No newline at end of file
@@ -2,18 +2,35 @@ package com.smartserve.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.time.Instant;
 import java.time.LocalDate;
 
+/**
+ * A forecast handed out by the API, kept so the actual outcome can be recorded against it later.
+ * Forecasts for scheduled events are also materialized here ahead of time and refreshed in place.
+ * Every forecast belongs to a venue, and the indexes lead with it, so reads for one venue only
+ * touch that venue's rows however many venues share the table.
+ */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_forecast_venue_item_date", columnList = "venue, itemName, date"),
+        @Index(name = "idx_forecast_venue_date", columnList = "venue, date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class FoodForecast {
 
+    // Id sequence shared by JPA (pooled optimizer) and the JDBC bulk insert path.
+    public static final String ID_SEQUENCE = "food_forecast_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    private String venue;
     @Getter
     private String itemName;
     @Getter
@@ -22,6 +39,15 @@ public class FoodForecast {
     private int quantityRecommended;
     @Getter
     private LocalDate date;  // Using LocalDate now
+    private String eventType;
+    private String audienceProfile;
+    // Actual outcome, reported after the event; null until then.
+    private Integer foodPrepared;
+    private Integer foodConsumed;
+    private Instant actualsRecordedAt;
+    // Scheduled event the forecast was materialized for, and when it was last computed; null for on-demand forecasts.
+    private Long scheduledEventId;
+    private Instant materializedAt;
 
     public void setItemName(String itemName) {
         this.itemName = itemName;
@@ -0,0 +1,44 @@
+package com.smartserve.model;
+
+/**
+ * Data Transfer Object (DTO) carrying the actual outcome of a forecast event.
+ */
+public class ForecastActuals {
+    // Amount of food actually prepared for the event; required.
+    private Integer foodPrepared;
+    // Amount of food actually consumed during the event; required.
+    private Integer foodConsumed;
+    // Actual number of attendees; the forecast's expected footfall is assumed when omitted.
+    private Integer footfall;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public ForecastActuals() {
+    }
+
+    // --- Getters and Setters for the fields ---
+    public Integer getFoodPrepared() {
+        return foodPrepared;
+    }
+
+    public void setFoodPrepared(Integer foodPrepared) {
+        this.foodPrepared = foodPrepared;
+    }
+
+    public Integer getFoodConsumed() {
+        return foodConsumed;
+    }
+
+    public void setFoodConsumed(Integer foodConsumed) {
+        this.foodConsumed = foodConsumed;
+    }
+
+    public Integer getFootfall() {
+        return footfall;
+    }
+
+    public void setFootfall(Integer footfall) {
+        this.footfall = footfall;
+    }
+}
@@ -11,7 +11,10 @@ public class ForecastRequest {
     // Nested object to hold event-specific details.
     private EventDetails eventDetails;
     // List of historical data items, used by the forecasting service.
+    // Optional: when omitted, history is read from the server-side store.
     private List<HistoricalDataItem> historicalData;
+    // The same history in columnar form; an alternative to historicalData for large histories.
+    private HistoryColumns historyColumns;
 
     // Constructors, Getters, Setters
 
@@ -47,4 +50,12 @@ public class ForecastRequest {
     public void setHistoricalData(List<HistoricalDataItem> historicalData) {
         this.historicalData = historicalData;
     }
+
+    public HistoryColumns getHistoryColumns() {
+        return historyColumns;
+    }
+
+    public void setHistoryColumns(HistoryColumns historyColumns) {
+        this.historyColumns = historyColumns;
+    }
 }
\ No newline at end of file
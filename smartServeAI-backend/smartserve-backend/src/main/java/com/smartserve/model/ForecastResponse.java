@@ -1,11 +1,16 @@
 package com.smartserve.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Data Transfer Object (DTO) representing the response body for food forecasting.
  * This class holds the predicted food quantity and a potential waste reduction value
  * to be sent back to the frontend.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ForecastResponse {
+    // Id of the stored forecast; report the actual outcome against it.
+    private Long forecastId;
     // The quantity of food predicted to be needed.
     private int predictedFoodQuantity;
     // An example field indicating the potential for waste reduction.
@@ -28,7 +33,26 @@ public class ForecastResponse {
         this.wasteReductionPotential = wasteReductionPotential;
     }
 
+    /**
+     * Estimates how much less food the forecast prepares than a simple estimate of 2.0 per attendee.
+     * @param predictedFoodQuantity The forecasted amount of food for the whole event.
+     * @param footfall The expected number of attendees of the event.
+     * @return The difference, or 0 if the forecast is not below the simple estimate.
+     */
+    public static int wasteReductionPotential(int predictedFoodQuantity, int footfall) {
+        int simpleEstimate = (int) Math.round(footfall * 2.0);
+        return Math.max(0, simpleEstimate - predictedFoodQuantity);
+    }
+
     // --- Getters and Setters for the fields ---
+    public Long getForecastId() {
+        return forecastId;
+    }
+
+    public void setForecastId(Long forecastId) {
+        this.forecastId = forecastId;
+    }
+
     public int getPredictedFoodQuantity() {
         return predictedFoodQuantity;
     }
@@ -0,0 +1,34 @@
+package com.smartserve.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Database override for a forecast multiplier.
+ * Rows here take precedence over the multipliers in the application configuration
+ * and are picked up by the rules engine on its next reload.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"kind", "name"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ForecastRule {
+
+    /**
+     * Which category a rule adjusts.
+     */
+    public enum Kind {
+        EVENT_TYPE,
+        AUDIENCE_PROFILE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private Kind kind;
+    private String name;
+    private double multiplier;
+}
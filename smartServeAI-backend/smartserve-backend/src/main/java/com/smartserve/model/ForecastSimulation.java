@@ -0,0 +1,96 @@
+package com.smartserve.model;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the result of a Monte Carlo forecast simulation:
+ * the fitted input distributions and the P10/P50/P90 quantities of the simulated demand.
+ */
+public class ForecastSimulation {
+    // Number of trials simulated.
+    private int trials;
+    // Mean consumption rate (food per attendee) the trials were centred on.
+    private double consumptionRate;
+    // Coefficient of variation of the consumption rate.
+    private double consumptionRateCv;
+    // Coefficient of variation of the footfall.
+    private double footfallCv;
+    // Mean simulated demand.
+    private double meanQuantity;
+    // Demand at the 10th, 50th and 90th percentiles.
+    private List<SimulationQuantile> quantiles;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public ForecastSimulation() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param trials Number of trials simulated.
+     * @param consumptionRate Mean consumption rate used.
+     * @param consumptionRateCv Coefficient of variation of the consumption rate.
+     * @param footfallCv Coefficient of variation of the footfall.
+     * @param meanQuantity Mean simulated demand.
+     * @param quantiles Demand percentiles.
+     */
+    public ForecastSimulation(int trials, double consumptionRate, double consumptionRateCv, double footfallCv,
+                              double meanQuantity, List<SimulationQuantile> quantiles) {
+        this.trials = trials;
+        this.consumptionRate = consumptionRate;
+        this.consumptionRateCv = consumptionRateCv;
+        this.footfallCv = footfallCv;
+        this.meanQuantity = meanQuantity;
+        this.quantiles = quantiles;
+    }
+
+    // --- Getters and Setters for the fields ---
+    public int getTrials() {
+        return trials;
+    }
+
+    public void setTrials(int trials) {
+        this.trials = trials;
+    }
+
+    public double getConsumptionRate() {
+        return consumptionRate;
+    }
+
+    public void setConsumptionRate(double consumptionRate) {
+        this.consumptionRate = consumptionRate;
+    }
+
+    public double getConsumptionRateCv() {
+        return consumptionRateCv;
+    }
+
+    public void setConsumptionRateCv(double consumptionRateCv) {
+        this.consumptionRateCv = consumptionRateCv;
+    }
+
+    public double getFootfallCv() {
+        return footfallCv;
+    }
+
+    public void setFootfallCv(double footfallCv) {
+        this.footfallCv = footfallCv;
+    }
+
+    public double getMeanQuantity() {
+        return meanQuantity;
+    }
+
+    public void setMeanQuantity(double meanQuantity) {
+        this.meanQuantity = meanQuantity;
+    }
+
+    public List<SimulationQuantile> getQuantiles() {
+        return quantiles;
+    }
+
+    public void setQuantiles(List<SimulationQuantile> quantiles) {
+        this.quantiles = quantiles;
+    }
+}
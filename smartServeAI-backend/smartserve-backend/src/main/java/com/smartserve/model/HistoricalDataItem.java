@@ -1,5 +1,10 @@
 package com.smartserve.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
 /**
  * Data Transfer Object (DTO) representing a single item of historical food preparation data.
  * This class defines the structure for past event records, including how much food was prepared
@@ -8,16 +13,24 @@ package com.smartserve.model;
 public class HistoricalDataItem {
     // Date of the historical event.
     private String date;
+    // Date of the event as days since 1970-01-01, and the date parsed from either field.
+    private Long epochDay;
+    private LocalDate localDate;
     // Type of the historical event.
     private String eventType;
     // Audience profile for the historical event.
     private String audienceProfile;
+    // Interned ids of eventType and audienceProfile, resolved once when the names are set.
+    private int eventTypeId;
+    private int audienceProfileId;
     // Actual footfall (number of attendees) for the historical event.
     private int footfall;
     // Amount of food prepared for the historical event.
     private int foodPrepared;
     // Amount of food actually consumed during the historical event.
     private int foodConsumed;
+    // Menu item the quantities refer to; null when they cover the whole menu.
+    private String itemName;
 
     // Constructors, Getters, Setters
 
@@ -38,8 +51,8 @@ public class HistoricalDataItem {
      */
     public HistoricalDataItem(String date, String eventType, String audienceProfile, int footfall, int foodPrepared, int foodConsumed) {
         this.date = date;
-        this.eventType = eventType;
-        this.audienceProfile = audienceProfile;
+        setEventType(eventType);
+        setAudienceProfile(audienceProfile);
         this.footfall = footfall;
         this.foodPrepared = foodPrepared;
         this.foodConsumed = foodConsumed;
@@ -53,22 +66,63 @@ public class HistoricalDataItem {
 
     public void setDate(String date) {
         this.date = date;
+        this.localDate = null;
+    }
+
+    /**
+     * @return Days since 1970-01-01; an alternative to {@code date} for compact clients.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long getEpochDay() {
+        return epochDay;
+    }
+
+    public void setEpochDay(Long epochDay) {
+        this.epochDay = epochDay;
+        this.localDate = null;
+    }
+
+    /**
+     * @return The date, parsed once from epochDay or date; null if neither is set.
+     */
+    @JsonIgnore
+    public LocalDate getLocalDate() {
+        if (localDate == null) {
+            if (epochDay != null) {
+                localDate = LocalDate.ofEpochDay(epochDay);
+            } else if (date != null) {
+                localDate = LocalDate.parse(date);
+            }
+        }
+        return localDate;
     }
 
     public String getEventType() {
         return eventType;
     }
 
-    public String setEventType(String eventType) {
-        return eventType;
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+        this.eventTypeId = CategoryDictionary.EVENT_TYPES.lookup(eventType);
+    }
+
+    @JsonIgnore
+    public int getEventTypeId() {
+        return eventTypeId;
     }
 
     public String getAudienceProfile() {
         return audienceProfile;
     }
 
-    public String setAudienceProfile(String audienceProfile) {
-        return audienceProfile;
+    public void setAudienceProfile(String audienceProfile) {
+        this.audienceProfile = audienceProfile;
+        this.audienceProfileId = CategoryDictionary.AUDIENCE_PROFILES.lookup(audienceProfile);
+    }
+
+    @JsonIgnore
+    public int getAudienceProfileId() {
+        return audienceProfileId;
     }
 
     public int getFootfall() {
@@ -94,4 +148,12 @@ public class HistoricalDataItem {
     public void setFoodConsumed(int foodConsumed) {
         this.foodConsumed = foodConsumed;
     }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
 }
\ No newline at end of file
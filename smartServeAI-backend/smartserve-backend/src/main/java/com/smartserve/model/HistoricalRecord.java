@@ -0,0 +1,87 @@
+package com.smartserve.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * Persisted historical event outcome.
+ * History is ingested once through the history endpoint and read back by venue,
+ * event type and date window, so forecast requests no longer need to carry it.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_history_venue_type_date", columnList = "venue, eventType, date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricalRecord {
+
+    // Venue used when a client does not name one.
+    public static final String DEFAULT_VENUE = "default";
+
+    // Id sequence shared by JPA (pooled optimizer) and the JDBC bulk insert path.
+    public static final String ID_SEQUENCE = "historical_record_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    private String venue;
+    private LocalDate date;
+    private String eventType;
+    private String audienceProfile;
+    private int footfall;
+    private int foodPrepared;
+    private int foodConsumed;
+    // Menu item the quantities refer to; null when they cover the whole menu.
+    private String itemName;
+
+    /**
+     * Builds a record from an incoming DTO.
+     * @param venue The venue the event took place at.
+     * @param item The historical data item sent by the client.
+     * @return A new, unsaved record.
+     * @throws IllegalArgumentException If the item is missing, has no date, event type or audience profile,
+     * or has a negative footfall or quantity. Every ingest path builds records here, so they all accept the same rows.
+     */
+    public static HistoricalRecord from(String venue, HistoricalDataItem item) {
+        if (item == null) {
+            throw new IllegalArgumentException("History item is missing");
+        }
+        LocalDate date = item.getLocalDate();
+        if (date == null) {
+            throw new IllegalArgumentException("History item has no date");
+        }
+        if (item.getEventType() == null || item.getEventType().isBlank()) {
+            throw new IllegalArgumentException("History item has no eventType");
+        }
+        if (item.getAudienceProfile() == null || item.getAudienceProfile().isBlank()) {
+            throw new IllegalArgumentException("History item has no audienceProfile");
+        }
+        if (item.getFootfall() < 0 || item.getFoodPrepared() < 0 || item.getFoodConsumed() < 0) {
+            throw new IllegalArgumentException("History item footfall and food quantities must not be negative");
+        }
+        HistoricalRecord record = new HistoricalRecord();
+        record.setVenue(venue);
+        record.setDate(date);
+        record.setEventType(item.getEventType());
+        record.setAudienceProfile(item.getAudienceProfile());
+        record.setFootfall(item.getFootfall());
+        record.setFoodPrepared(item.getFoodPrepared());
+        record.setFoodConsumed(item.getFoodConsumed());
+        record.setItemName(item.getItemName());
+        return record;
+    }
+
+    /**
+     * Converts this record back into the DTO the forecasting service consumes.
+     * @return The equivalent HistoricalDataItem.
+     */
+    public HistoricalDataItem toItem() {
+        HistoricalDataItem item = new HistoricalDataItem(date.toString(), eventType, audienceProfile, footfall, foodPrepared, foodConsumed);
+        item.setItemName(itemName);
+        return item;
+    }
+}
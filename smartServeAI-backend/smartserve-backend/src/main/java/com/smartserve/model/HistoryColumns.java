@@ -0,0 +1,188 @@
+package com.smartserve.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) carrying historical data in columnar form: one array per field
+ * instead of one object per event. Field names appear once per request rather than once per
+ * event, dates travel as epoch days, and event types and audience profiles are sent as indexes
+ * into small name tables, so large histories are much smaller to send and cheaper to parse.
+ * Only footfall and foodConsumed are required; every column present must have the same length.
+ */
+public class HistoryColumns {
+    // Date of each event as days since 1970-01-01.
+    private int[] epochDays;
+    // Distinct event type names, and each event's index into them.
+    private String[] eventTypeNames;
+    private int[] eventTypes;
+    // Distinct audience profile names, and each event's index into them.
+    private String[] audienceProfileNames;
+    private int[] audienceProfiles;
+    // Actual footfall of each event.
+    private int[] footfall;
+    // Food prepared and consumed at each event.
+    private int[] foodPrepared;
+    private int[] foodConsumed;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public HistoryColumns() {
+    }
+
+    /**
+     * Lays out a list of historical data items in columns. The date column is left out unless
+     * every item has a date.
+     * @param items The history to convert.
+     * @return The same history in columnar form.
+     */
+    public static HistoryColumns from(List<HistoricalDataItem> items) {
+        int size = items.size();
+        HistoryColumns columns = new HistoryColumns();
+        columns.epochDays = new int[size];
+        columns.eventTypes = new int[size];
+        columns.audienceProfiles = new int[size];
+        columns.footfall = new int[size];
+        columns.foodPrepared = new int[size];
+        columns.foodConsumed = new int[size];
+        Map<String, Integer> eventTypeIndex = new LinkedHashMap<>();
+        Map<String, Integer> audienceProfileIndex = new LinkedHashMap<>();
+        boolean dated = true;
+        for (int i = 0; i < size; i++) {
+            HistoricalDataItem item = items.get(i);
+            LocalDate date = item.getLocalDate();
+            if (date != null) {
+                columns.epochDays[i] = (int) date.toEpochDay();
+            } else {
+                dated = false;
+            }
+            columns.eventTypes[i] = eventTypeIndex.computeIfAbsent(item.getEventType(), name -> eventTypeIndex.size());
+            columns.audienceProfiles[i] = audienceProfileIndex.computeIfAbsent(item.getAudienceProfile(), name -> audienceProfileIndex.size());
+            columns.footfall[i] = item.getFootfall();
+            columns.foodPrepared[i] = item.getFoodPrepared();
+            columns.foodConsumed[i] = item.getFoodConsumed();
+        }
+        if (!dated) {
+            // The date column is all or nothing.
+            columns.epochDays = null;
+        }
+        columns.eventTypeNames = eventTypeIndex.keySet().toArray(new String[0]);
+        columns.audienceProfileNames = audienceProfileIndex.keySet().toArray(new String[0]);
+        return columns;
+    }
+
+    /**
+     * Checks that the required columns are present, all columns have the same length and
+     * every name index is in range.
+     * @throws IllegalArgumentException If the columns are inconsistent.
+     */
+    public void validate() {
+        if (footfall == null || foodConsumed == null) {
+            throw new IllegalArgumentException("footfall and foodConsumed columns are required");
+        }
+        int size = footfall.length;
+        checkLength("foodConsumed", foodConsumed, size);
+        checkLength("foodPrepared", foodPrepared, size);
+        checkLength("epochDays", epochDays, size);
+        checkLength("eventTypes", eventTypes, size);
+        checkLength("audienceProfiles", audienceProfiles, size);
+        checkIndexes("eventTypes", eventTypes, eventTypeNames);
+        checkIndexes("audienceProfiles", audienceProfiles, audienceProfileNames);
+    }
+
+    /**
+     * @return The number of events.
+     */
+    @JsonIgnore
+    public int size() {
+        return footfall != null ? footfall.length : 0;
+    }
+
+    private static void checkLength(String name, int[] column, int size) {
+        if (column != null && column.length != size) {
+            throw new IllegalArgumentException(name + " has " + column.length + " entries, expected " + size);
+        }
+    }
+
+    private static void checkIndexes(String name, int[] column, String[] names) {
+        if (column == null) {
+            return;
+        }
+        int limit = names != null ? names.length : 0;
+        for (int index : column) {
+            if (index < 0 || index >= limit) {
+                throw new IllegalArgumentException(name + " refers to unknown name index " + index);
+            }
+        }
+    }
+
+    // --- Getters and Setters for the fields ---
+    public int[] getEpochDays() {
+        return epochDays;
+    }
+
+    public void setEpochDays(int[] epochDays) {
+        this.epochDays = epochDays;
+    }
+
+    public String[] getEventTypeNames() {
+        return eventTypeNames;
+    }
+
+    public void setEventTypeNames(String[] eventTypeNames) {
+        this.eventTypeNames = eventTypeNames;
+    }
+
+    public int[] getEventTypes() {
+        return eventTypes;
+    }
+
+    public void setEventTypes(int[] eventTypes) {
+        this.eventTypes = eventTypes;
+    }
+
+    public String[] getAudienceProfileNames() {
+        return audienceProfileNames;
+    }
+
+    public void setAudienceProfileNames(String[] audienceProfileNames) {
+        this.audienceProfileNames = audienceProfileNames;
+    }
+
+    public int[] getAudienceProfiles() {
+        return audienceProfiles;
+    }
+
+    public void setAudienceProfiles(int[] audienceProfiles) {
+        this.audienceProfiles = audienceProfiles;
+    }
+
+    public int[] getFootfall() {
+        return footfall;
+    }
+
+    public void setFootfall(int[] footfall) {
+        this.footfall = footfall;
+    }
+
+    public int[] getFoodPrepared() {
+        return foodPrepared;
+    }
+
+    public void setFoodPrepared(int[] foodPrepared) {
+        this.foodPrepared = foodPrepared;
+    }
+
+    public int[] getFoodConsumed() {
+        return foodConsumed;
+    }
+
+    public void setFoodConsumed(int[] foodConsumed) {
+        this.foodConsumed = foodConsumed;
+    }
+}
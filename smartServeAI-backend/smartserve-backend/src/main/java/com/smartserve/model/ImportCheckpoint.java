@@ -0,0 +1,27 @@
+package com.smartserve.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * Progress of a streaming history import.
+ * Updated in the same transaction as each written batch, so after an interruption the
+ * import can be resumed by skipping exactly the rows that were already committed.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportCheckpoint {
+
+    @Id
+    private String importId;
+
+    private String venue;
+    // Data rows consumed so far, accepted or rejected.
+    private long rowsProcessed;
+    private long accepted;
+    private long rejected;
+    private Instant updatedAt;
+}
@@ -0,0 +1,99 @@
+package com.smartserve.model;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) summarizing a streaming history import.
+ */
+public class ImportReport {
+    // Identifier to pass again to resume this import.
+    private String importId;
+    // Rows skipped because an earlier run of the same import had already committed them.
+    private long rowsSkipped;
+    // Rows written to the store in this run.
+    private long accepted;
+    // Rows rejected by validation in this run.
+    private long rejected;
+    // Wall-clock duration of this run.
+    private long elapsedMillis;
+    // Rows read per second in this run.
+    private double rowsPerSecond;
+    // The first few validation errors, with their line numbers.
+    private List<String> errors;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public ImportReport() {
+    }
+
+    /**
+     * Constructor with all fields.
+     */
+    public ImportReport(String importId, long rowsSkipped, long accepted, long rejected, long elapsedMillis, double rowsPerSecond, List<String> errors) {
+        this.importId = importId;
+        this.rowsSkipped = rowsSkipped;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = rowsPerSecond;
+        this.errors = errors;
+    }
+
+    // --- Getters and Setters for the fields ---
+    public String getImportId() {
+        return importId;
+    }
+
+    public void setImportId(String importId) {
+        this.importId = importId;
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public void setRowsSkipped(long rowsSkipped) {
+        this.rowsSkipped = rowsSkipped;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(long accepted) {
+        this.accepted = accepted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,61 @@
+package com.smartserve.model;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the request body for a menu forecast.
+ * It carries one event and the menu items served at it, plus optional history whose rows
+ * may name the item they were recorded for.
+ */
+public class MenuForecastRequest {
+    // The event the menu is served at.
+    private EventDetails eventDetails;
+    // Menu items to forecast; results are returned in the same order, duplicates once.
+    private List<String> items;
+    // Optional history. Rows without an item name count towards every item that has no history of its own.
+    // When omitted, the server-side store and the per-item model are used.
+    private List<HistoricalDataItem> historicalData;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public MenuForecastRequest() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param eventDetails The event the menu is served at.
+     * @param items The menu items to forecast.
+     * @param historicalData History to forecast from, or null to use stored history.
+     */
+    public MenuForecastRequest(EventDetails eventDetails, List<String> items, List<HistoricalDataItem> historicalData) {
+        this.eventDetails = eventDetails;
+        this.items = items;
+        this.historicalData = historicalData;
+    }
+
+    // --- Getters and Setters for the fields ---
+    public EventDetails getEventDetails() {
+        return eventDetails;
+    }
+
+    public void setEventDetails(EventDetails eventDetails) {
+        this.eventDetails = eventDetails;
+    }
+
+    public List<String> getItems() {
+        return items;
+    }
+
+    public void setItems(List<String> items) {
+        this.items = items;
+    }
+
+    public List<HistoricalDataItem> getHistoricalData() {
+        return historicalData;
+    }
+
+    public void setHistoricalData(List<HistoricalDataItem> historicalData) {
+        this.historicalData = historicalData;
+    }
+}
@@ -0,0 +1,61 @@
+package com.smartserve.model;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the response of a menu forecast:
+ * one forecast per menu item, and their totals.
+ */
+public class MenuForecastResponse {
+    // Per-item forecasts, in request order.
+    private List<MenuItemForecast> items;
+    // Sum of the predicted quantities over all items.
+    private int totalPredictedFoodQuantity;
+    // Waste reduction potential of the whole menu against the event's simple estimate. Each item's own
+    // figure compares that item alone with the whole event, so the item figures do not add up to this.
+    private int totalWasteReductionPotential;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public MenuForecastResponse() {
+    }
+
+    /**
+     * Builds a response from per-item forecasts, computing the totals.
+     * @param items The per-item forecasts.
+     * @param footfall The expected number of attendees of the event.
+     */
+    public MenuForecastResponse(List<MenuItemForecast> items, int footfall) {
+        this.items = items;
+        for (MenuItemForecast item : items) {
+            totalPredictedFoodQuantity += item.getForecast().getPredictedFoodQuantity();
+        }
+        totalWasteReductionPotential = ForecastResponse.wasteReductionPotential(totalPredictedFoodQuantity, footfall);
+    }
+
+    // --- Getters and Setters for the fields ---
+    public List<MenuItemForecast> getItems() {
+        return items;
+    }
+
+    public void setItems(List<MenuItemForecast> items) {
+        this.items = items;
+    }
+
+    public int getTotalPredictedFoodQuantity() {
+        return totalPredictedFoodQuantity;
+    }
+
+    public void setTotalPredictedFoodQuantity(int totalPredictedFoodQuantity) {
+        this.totalPredictedFoodQuantity = totalPredictedFoodQuantity;
+    }
+
+    public int getTotalWasteReductionPotential() {
+        return totalWasteReductionPotential;
+    }
+
+    public void setTotalWasteReductionPotential(int totalWasteReductionPotential) {
+        this.totalWasteReductionPotential = totalWasteReductionPotential;
+    }
+}
@@ -0,0 +1,44 @@
+package com.smartserve.model;
+
+/**
+ * Data Transfer Object (DTO) representing the forecast for one item of a menu forecast.
+ */
+public class MenuItemForecast {
+    // The menu item.
+    private String itemName;
+    // The forecast for the item, with its forecast id for reporting actuals.
+    private ForecastResponse forecast;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public MenuItemForecast() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param itemName The menu item.
+     * @param forecast The forecast for the item.
+     */
+    public MenuItemForecast(String itemName, ForecastResponse forecast) {
+        this.itemName = itemName;
+        this.forecast = forecast;
+    }
+
+    // --- Getters and Setters for the fields ---
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public ForecastResponse getForecast() {
+        return forecast;
+    }
+
+    public void setForecast(ForecastResponse forecast) {
+        this.forecast = forecast;
+    }
+}
@@ -0,0 +1,51 @@
+package com.smartserve.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One training run of the forecasting model.
+ * Every run is recorded, whether or not its model passed validation, together with its
+ * holdout error and that of the plain-average baseline it has to beat.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelVersion {
+
+    /**
+     * Outcome of a training run.
+     */
+    public enum Status {
+        // Passed validation and was published.
+        PUBLISHED,
+        // Did worse than the baseline on the holdout window and was discarded.
+        REJECTED,
+        // Training failed.
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String algorithm;
+    private Instant trainedAt;
+    private long trainingMillis;
+    // History rows the model was trained on, and the series they formed.
+    private long observations;
+    private int seriesCount;
+    // First day of the holdout window and the number of holdout points scored.
+    private LocalDate holdoutFrom;
+    private long holdoutPoints;
+    // Mean absolute error of one-step-ahead consumption-rate forecasts over the holdout window.
+    private Double holdoutMae;
+    private Double baselineMae;
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    // Whether this version is the one currently served.
+    private boolean active;
+}
@@ -0,0 +1,80 @@
+package com.smartserve.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A known upcoming event at a venue, either one-off or repeating every few days.
+ * Forecasts for its occurrences in the coming days are materialized ahead of time, so
+ * planners read them from the forecast table instead of computing them on every page load.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_scheduled_event_venue_date", columnList = "venue, date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledEvent {
+
+    public static final String ID_SEQUENCE = "scheduled_event_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    private String venue;
+    private String eventType;
+    private String audienceProfile;
+    private int footfall;
+    // Menu item to forecast; null forecasts the whole menu.
+    private String itemName;
+    // Day of the first (or only) occurrence.
+    private LocalDate date;
+    // Days between occurrences; null for a one-off event.
+    private Integer repeatEveryDays;
+    // Last day an occurrence may fall on; null repeats indefinitely.
+    private LocalDate endDate;
+
+    /**
+     * Lists the days the event takes place on within a window.
+     * @param from First day of the window.
+     * @param to Last day of the window, inclusive.
+     * @return The occurrence days in the window, in order.
+     */
+    public List<LocalDate> occurrences(LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate last = endDate != null && endDate.isBefore(to) ? endDate : to;
+        if (repeatEveryDays == null) {
+            if (!date.isBefore(from) && !date.isAfter(last)) {
+                days.add(date);
+            }
+            return days;
+        }
+        long first = date.toEpochDay();
+        long start = from.toEpochDay();
+        // Skip whole periods up to the window start.
+        if (first < start) {
+            first += Math.floorDiv(start - first + repeatEveryDays - 1, repeatEveryDays) * (long) repeatEveryDays;
+        }
+        for (long day = first; day <= last.toEpochDay(); day += repeatEveryDays) {
+            days.add(LocalDate.ofEpochDay(day));
+        }
+        return days;
+    }
+
+    /**
+     * @param day The occurrence to forecast.
+     * @return The details of the event on that day, as a forecast request would carry them.
+     */
+    public EventDetails toEventDetails(LocalDate day) {
+        EventDetails eventDetails = new EventDetails(eventType, audienceProfile, footfall, null);
+        eventDetails.setEpochDay(day.toEpochDay());
+        eventDetails.setVenue(venue);
+        eventDetails.setItemName(itemName);
+        return eventDetails;
+    }
+}
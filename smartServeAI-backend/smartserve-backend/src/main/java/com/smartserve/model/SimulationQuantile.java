@@ -0,0 +1,69 @@
+package com.smartserve.model;
+
+/**
+ * Data Transfer Object (DTO) representing one percentile of a simulated forecast, with what
+ * preparing that quantity would be expected to waste or fall short by.
+ */
+public class SimulationQuantile {
+    // The percentile, e.g. 10, 50 or 90.
+    private int percentile;
+    // Quantity needed at that percentile of the simulated outcomes.
+    private int quantity;
+    // Mean food left over over all trials if this quantity is prepared.
+    private double expectedWaste;
+    // Mean food missing over all trials if this quantity is prepared.
+    private double expectedShortfall;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public SimulationQuantile() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param percentile The percentile.
+     * @param quantity The quantity at that percentile.
+     * @param expectedWaste Mean leftover if this quantity is prepared.
+     * @param expectedShortfall Mean shortfall if this quantity is prepared.
+     */
+    public SimulationQuantile(int percentile, int quantity, double expectedWaste, double expectedShortfall) {
+        this.percentile = percentile;
+        this.quantity = quantity;
+        this.expectedWaste = expectedWaste;
+        this.expectedShortfall = expectedShortfall;
+    }
+
+    // --- Getters and Setters for the fields ---
+    public int getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(int percentile) {
+        this.percentile = percentile;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public double getExpectedWaste() {
+        return expectedWaste;
+    }
+
+    public void setExpectedWaste(double expectedWaste) {
+        this.expectedWaste = expectedWaste;
+    }
+
+    public double getExpectedShortfall() {
+        return expectedShortfall;
+    }
+
+    public void setExpectedShortfall(double expectedShortfall) {
+        this.expectedShortfall = expectedShortfall;
+    }
+}
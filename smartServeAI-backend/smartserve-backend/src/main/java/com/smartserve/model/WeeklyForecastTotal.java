@@ -0,0 +1,70 @@
+package com.smartserve.model;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) representing the stored forecasts of one item over one week.
+ */
+public class WeeklyForecastTotal {
+    // Monday the week starts on.
+    private LocalDate weekStart;
+    // Sum of the recommended quantities.
+    private long quantity;
+    // Sum of the expected footfall.
+    private long footfall;
+    // Number of forecasts in the week.
+    private long forecasts;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public WeeklyForecastTotal() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param weekStart Monday the week starts on.
+     * @param quantity Sum of the recommended quantities.
+     * @param footfall Sum of the expected footfall.
+     * @param forecasts Number of forecasts in the week.
+     */
+    public WeeklyForecastTotal(LocalDate weekStart, long quantity, long footfall, long forecasts) {
+        this.weekStart = weekStart;
+        this.quantity = quantity;
+        this.footfall = footfall;
+        this.forecasts = forecasts;
+    }
+
+    // --- Getters and Setters for the fields ---
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public void setWeekStart(LocalDate weekStart) {
+        this.weekStart = weekStart;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    public long getFootfall() {
+        return footfall;
+    }
+
+    public void setFootfall(long footfall) {
+        this.footfall = footfall;
+    }
+
+    public long getForecasts() {
+        return forecasts;
+    }
+
+    public void setForecasts(long forecasts) {
+        this.forecasts = forecasts;
+    }
+}
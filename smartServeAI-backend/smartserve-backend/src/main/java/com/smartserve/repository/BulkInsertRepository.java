@@ -0,0 +1,114 @@
+package com.smartserve.repository;
+
+import com.smartserve.model.FoodForecast;
+import com.smartserve.model.HistoricalRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * High-throughput insert path for history and forecast rows.
+ * Rows are written with JDBC batch statements and ids come from the entities' sequences in
+ * pooled blocks, so a batch of n rows costs one statement round trip plus n/50 sequence calls.
+ * Callers are expected to run inside a transaction.
+ */
+@Repository
+public class BulkInsertRepository {
+
+    private static final String INSERT_HISTORY_SQL = "insert into historical_record "
+            + "(id, venue, date, event_type, audience_profile, footfall, food_prepared, food_consumed, item_name) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_FORECAST_SQL = "insert into food_forecast "
+            + "(id, venue, item_name, expected_footfall, quantity_recommended, date, event_type, audience_profile, "
+            + "scheduled_event_id, materialized_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // Refreshes a materialized forecast unless its outcome has been recorded since.
+    private static final String UPDATE_FORECAST_SQL = "update food_forecast "
+            + "set item_name = ?, expected_footfall = ?, quantity_recommended = ?, event_type = ?, audience_profile = ?, "
+            + "materialized_at = ? where id = ? and food_consumed is null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PooledSequenceIdAllocator historyIds;
+    private final PooledSequenceIdAllocator forecastIds;
+
+    public BulkInsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.historyIds = new PooledSequenceIdAllocator(jdbcTemplate, HistoricalRecord.ID_SEQUENCE, HistoricalRecord.ID_ALLOCATION_SIZE);
+        this.forecastIds = new PooledSequenceIdAllocator(jdbcTemplate, FoodForecast.ID_SEQUENCE, FoodForecast.ID_ALLOCATION_SIZE);
+    }
+
+    /**
+     * Inserts historical records, assigning ids to those that have none.
+     * @param records The records to insert.
+     */
+    public void insertHistory(List<HistoricalRecord> records) {
+        for (HistoricalRecord record : records) {
+            if (record.getId() == null) {
+                record.setId(historyIds.nextId());
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, records, records.size(), (statement, record) -> {
+            statement.setLong(1, record.getId());
+            statement.setString(2, record.getVenue());
+            statement.setDate(3, Date.valueOf(record.getDate()));
+            statement.setString(4, record.getEventType());
+            statement.setString(5, record.getAudienceProfile());
+            statement.setInt(6, record.getFootfall());
+            statement.setInt(7, record.getFoodPrepared());
+            statement.setInt(8, record.getFoodConsumed());
+            statement.setString(9, record.getItemName());
+        });
+    }
+
+    /**
+     * Inserts forecasts, assigning ids to those that have none.
+     * @param forecasts The forecasts to insert.
+     */
+    public void insertForecasts(List<FoodForecast> forecasts) {
+        for (FoodForecast forecast : forecasts) {
+            if (forecast.getId() == null) {
+                forecast.setId(forecastIds.nextId());
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_FORECAST_SQL, forecasts, forecasts.size(), (statement, forecast) -> {
+            statement.setLong(1, forecast.getId());
+            statement.setString(2, forecast.getVenue());
+            statement.setString(3, forecast.getItemName());
+            statement.setInt(4, forecast.getExpectedFootfall());
+            statement.setInt(5, forecast.getQuantityRecommended());
+            statement.setDate(6, forecast.getDate() != null ? Date.valueOf(forecast.getDate()) : null);
+            statement.setString(7, forecast.getEventType());
+            statement.setString(8, forecast.getAudienceProfile());
+            statement.setObject(9, forecast.getScheduledEventId(), Types.BIGINT);
+            statement.setTimestamp(10, forecast.getMaterializedAt() != null ? Timestamp.from(forecast.getMaterializedAt()) : null);
+        });
+    }
+
+    /**
+     * Rewrites the quantities and event details of existing materialized forecasts by id.
+     * Forecasts whose outcome has already been recorded are left as they are.
+     * @param forecasts The forecasts to update; each must have an id.
+     */
+    public void updateForecasts(List<FoodForecast> forecasts) {
+        jdbcTemplate.batchUpdate(UPDATE_FORECAST_SQL, forecasts, forecasts.size(), (statement, forecast) -> {
+            statement.setString(1, forecast.getItemName());
+            statement.setInt(2, forecast.getExpectedFootfall());
+            statement.setInt(3, forecast.getQuantityRecommended());
+            statement.setString(4, forecast.getEventType());
+            statement.setString(5, forecast.getAudienceProfile());
+            statement.setTimestamp(6, forecast.getMaterializedAt() != null ? Timestamp.from(forecast.getMaterializedAt()) : null);
+            statement.setLong(7, forecast.getId());
+        });
+    }
+
+    /**
+     * @return A new forecast id, for callers that need the id before the row is written.
+     */
+    public long nextForecastId() {
+        return forecastIds.nextId();
+    }
+}
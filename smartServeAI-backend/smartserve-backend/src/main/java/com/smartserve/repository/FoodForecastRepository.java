@@ -2,14 +2,106 @@ package com.smartserve.repository;
 
 import com.smartserve.model.FoodForecast;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface FoodForecastRepository extends JpaRepository<FoodForecast, Long> {
 
-    // Find historical forecasts for an item up to a certain date (exclusive)
-    List<FoodForecast> findByItemNameAndDate(String itemName, LocalDate date);
+    // Find a venue's forecasts for an item on an exact date
+    List<FoodForecast> findByVenueAndItemNameAndDate(String venue, String itemName, LocalDate date);
+
+    // Daily totals for a venue's item within a date window (both ends inclusive), oldest first
+    @Query("select f.date as date, sum(f.quantityRecommended) as quantity, sum(f.expectedFootfall) as footfall, "
+            + "count(f) as forecasts "
+            + "from FoodForecast f where f.venue = :venue and f.itemName = :itemName and f.date between :from and :to "
+            + "group by f.date order by f.date")
+    List<DailyTotal> sumByItemAndDay(@Param("venue") String venue,
+                                     @Param("itemName") String itemName,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    // Daily totals for a venue's item over the last N days up to and including today
+    default List<DailyTotal> sumByItemForLastDays(String venue, String itemName, int days) {
+        LocalDate today = LocalDate.now();
+        return sumByItemAndDay(venue, itemName, today.minusDays(days - 1L), today);
+    }
+
+    // Materialized forecasts of a venue's scheduled events within a date window (both ends inclusive), soonest first
+    @Query("select f.id as forecastId, f.scheduledEventId as scheduledEventId, f.date as date, f.itemName as itemName, "
+            + "f.eventType as eventType, f.audienceProfile as audienceProfile, f.expectedFootfall as expectedFootfall, "
+            + "f.quantityRecommended as quantityRecommended, f.foodConsumed as foodConsumed, f.materializedAt as materializedAt "
+            + "from FoodForecast f where f.venue = :venue and f.date between :from and :to and f.scheduledEventId is not null "
+            + "order by f.date, f.scheduledEventId")
+    List<MaterializedForecast> findMaterialized(@Param("venue") String venue,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    // Records the actual outcome of a forecast unless one was already recorded
+    @Transactional
+    @Modifying
+    @Query("update FoodForecast f set f.foodPrepared = :prepared, f.foodConsumed = :consumed, f.actualsRecordedAt = :at "
+            + "where f.id = :id and f.foodConsumed is null")
+    int recordActuals(@Param("id") long id,
+                      @Param("prepared") int prepared,
+                      @Param("consumed") int consumed,
+                      @Param("at") Instant at);
+
+    // Error sums per venue and event type over forecasts with a recorded outcome, computed by the database
+    @Query("select f.venue as venue, f.eventType as eventType, count(f) as count, "
+            + "sum(abs(f.quantityRecommended - f.foodConsumed)) as absoluteErrorSum, "
+            + "sum(f.quantityRecommended - f.foodConsumed) as errorSum, "
+            + "sum(case when f.foodConsumed > 0 then 1 else 0 end) as percentageCount, "
+            + "sum(case when f.foodConsumed > 0 then abs(f.quantityRecommended - f.foodConsumed) * 1.0 / f.foodConsumed else 0.0 end) "
+            + "as absolutePercentageErrorSum "
+            + "from FoodForecast f where f.foodConsumed is not null group by f.venue, f.eventType")
+    List<ErrorSums> sumErrorsByEventType();
+
+    /**
+     * Projection of one row of {@link #sumErrorsByEventType()}.
+     */
+    interface ErrorSums {
+        String getVenue();
+        String getEventType();
+        long getCount();
+        double getAbsoluteErrorSum();
+        double getErrorSum();
+        long getPercentageCount();
+        double getAbsolutePercentageErrorSum();
+    }
+
+    /**
+     * Projection of one row of {@link #findMaterialized}.
+     */
+    interface MaterializedForecast {
+        long getForecastId();
+        long getScheduledEventId();
+        LocalDate getDate();
+        String getItemName();
+        String getEventType();
+        String getAudienceProfile();
+        int getExpectedFootfall();
+        int getQuantityRecommended();
+        // Null until the outcome is reported.
+        Integer getFoodConsumed();
+        Instant getMaterializedAt();
+    }
+
+    /**
+     * Projection of one row of {@link #sumByItemAndDay}.
+     */
+    interface DailyTotal {
+        LocalDate getDate();
+        long getQuantity();
+        long getFootfall();
+        long getForecasts();
+    }
+
 }
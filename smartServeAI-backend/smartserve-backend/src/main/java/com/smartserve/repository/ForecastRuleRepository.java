@@ -0,0 +1,9 @@
+package com.smartserve.repository;
+
+import com.smartserve.model.ForecastRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ForecastRuleRepository extends JpaRepository<ForecastRule, Long> {
+}
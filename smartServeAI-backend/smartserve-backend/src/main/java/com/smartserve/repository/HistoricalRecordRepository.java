@@ -0,0 +1,61 @@
+package com.smartserve.repository;
+
+import com.smartserve.model.HistoricalRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface HistoricalRecordRepository extends JpaRepository<HistoricalRecord, Long> {
+
+    // Consumption-rate sums of whole-event history per series and day, computed by the database
+    @Query("select h.venue as venue, h.eventType as eventType, h.audienceProfile as audienceProfile, "
+            + "h.date as date, count(h) as count, "
+            + "sum(1.0 * h.foodConsumed / h.footfall) as rateSum, "
+            + "sum((1.0 * h.foodConsumed / h.footfall) * (1.0 * h.foodConsumed / h.footfall)) as rateSquareSum "
+            + "from HistoricalRecord h where h.footfall > 0 and h.itemName is null "
+            + "group by h.venue, h.eventType, h.audienceProfile, h.date")
+    List<ConsumptionBucket> aggregateConsumptionByDay();
+
+    // Consumption rate of every event with footfall, oldest first, read in chunks for model training
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select h.id as id, h.venue as venue, h.itemName as itemName, h.eventType as eventType, h.date as date, "
+            + "1.0 * h.foodConsumed / h.footfall as consumptionRate "
+            + "from HistoricalRecord h where h.footfall > 0 order by h.date, h.id")
+    Stream<Observation> streamObservations();
+
+    /**
+     * Projection of one row of {@link #streamObservations()}.
+     */
+    interface Observation {
+        long getId();
+        String getVenue();
+        String getItemName();
+        String getEventType();
+        LocalDate getDate();
+        double getConsumptionRate();
+    }
+
+    /**
+     * Projection of one row of {@link #aggregateConsumptionByDay()}.
+     */
+    interface ConsumptionBucket {
+        String getVenue();
+        String getEventType();
+        String getAudienceProfile();
+        LocalDate getDate();
+        long getCount();
+        double getRateSum();
+        double getRateSquareSum();
+    }
+}
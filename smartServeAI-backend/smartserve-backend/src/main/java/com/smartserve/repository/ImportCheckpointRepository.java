@@ -0,0 +1,18 @@
+package com.smartserve.repository;
+
+import com.smartserve.model.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+
+    // Reads a checkpoint's stored progress and locks its row until the transaction ends. A native query,
+    // so the value comes from the database even when the entity is already in the persistence context.
+    @Query(value = "select rows_processed from import_checkpoint where import_id = :importId for update", nativeQuery = true)
+    Optional<Long> lockRowsProcessed(@Param("importId") String importId);
+}
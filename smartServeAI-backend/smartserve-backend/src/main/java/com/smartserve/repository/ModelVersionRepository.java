@@ -0,0 +1,24 @@
+package com.smartserve.repository;
+
+import com.smartserve.model.ModelVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ModelVersionRepository extends JpaRepository<ModelVersion, Long> {
+
+    // Most recent training runs first
+    List<ModelVersion> findTop50ByOrderByIdDesc();
+
+    // Marks exactly one version as the one being served
+    @Transactional
+    @Modifying
+    @Query("update ModelVersion v set v.active = case when v.id = :id then true else false end")
+    int activate(@Param("id") long id);
+}
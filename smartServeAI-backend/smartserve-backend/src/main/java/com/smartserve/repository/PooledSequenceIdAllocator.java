@@ -0,0 +1,47 @@
+package com.smartserve.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out ids from a database sequence in blocks, for rows written outside JPA.
+ * It follows the same convention as Hibernate's pooled optimizer (each sequence value is the
+ * top of a block of allocationSize ids), so ids from this allocator and from JPA never collide.
+ * It locks with a ReentrantLock rather than a monitor because a refill makes a database call,
+ * and a virtual thread blocked inside a monitor pins its carrier thread.
+ */
+public class PooledSequenceIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+    private final int allocationSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Next id to hand out and the last id of the current block.
+    private long next = 1;
+    private long high = 0;
+
+    public PooledSequenceIdAllocator(JdbcTemplate jdbcTemplate, String sequenceName, int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = "select nextval('" + sequenceName + "')";
+        this.allocationSize = allocationSize;
+    }
+
+    /**
+     * @return A fresh id; costs one sequence call per allocationSize ids.
+     */
+    public long nextId() {
+        lock.lock();
+        try {
+            if (next > high) {
+                Long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+                high = value;
+                // The sequence's first value is a block of its own, as in Hibernate.
+                next = Math.max(1, high - allocationSize + 1);
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.smartserve.repository;
+
+import com.smartserve.model.ScheduledEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ScheduledEventRepository extends JpaRepository<ScheduledEvent, Long> {
+
+    // A venue's events, by first occurrence
+    List<ScheduledEvent> findByVenueOrderByDateAscIdAsc(String venue);
+
+    // A venue's events with at least one occurrence that may fall within a date window
+    @Query("select e from ScheduledEvent e where e.venue = :venue and e.date <= :to "
+            + "and (e.endDate is null or e.endDate >= :from) and (e.repeatEveryDays is not null or e.date >= :from)")
+    List<ScheduledEvent> findActive(@Param("venue") String venue,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to);
+
+    // Venues that have any scheduled event
+    @Query("select distinct e.venue from ScheduledEvent e")
+    List<String> findVenues();
+}
@@ -0,0 +1,103 @@
+package com.smartserve.service;
+
+import com.smartserve.config.TrafficProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Adaptive limit on the number of API requests in flight (additive increase, multiplicative
+ * decrease). While requests finish within the latency target and the limit is actually in use,
+ * it grows by about one per limit's worth of requests; when a request overruns the target, it is
+ * cut by the backoff ratio, at most once per target interval so one slow burst is not punished
+ * repeatedly. Requests over the limit are refused at once, which keeps queueing, and therefore
+ * latency, bounded when the service is saturated.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // The current limit as double bits; fractional so additive increase can be spread over requests.
+    private final AtomicLong limitBits;
+    private final AtomicLong lastBackoff;
+    private final long latencyTarget;
+    private final double backoffRatio;
+    private final double minLimit;
+    private final double maxLimit;
+
+    public AdaptiveConcurrencyLimiter(TrafficProperties trafficProperties) {
+        TrafficProperties.Concurrency concurrency = trafficProperties.getConcurrency();
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(concurrency.getInitialLimit()));
+        this.latencyTarget = concurrency.getLatencyTarget().toNanos();
+        this.lastBackoff = new AtomicLong(System.nanoTime() - latencyTarget);
+        this.backoffRatio = concurrency.getBackoffRatio();
+        this.minLimit = concurrency.getMinLimit();
+        this.maxLimit = concurrency.getMaxLimit();
+    }
+
+    /**
+     * Admits a request if fewer than the current limit are in flight.
+     * @return True if admitted; the caller must then call {@link #release(long)} or {@link #release()} exactly once.
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ends an admitted request and adapts the limit to its latency.
+     * @param latencyNanos How long the request took.
+     */
+    public void release(long latencyNanos) {
+        int active = inFlight.getAndDecrement();
+        if (latencyNanos > latencyTarget) {
+            long now = System.nanoTime();
+            long last = lastBackoff.get();
+            if (now - last >= latencyTarget && lastBackoff.compareAndSet(last, now)) {
+                updateLimit(limit -> Math.max(minLimit, limit * backoffRatio));
+            }
+        } else if (active * 2 >= limit()) {
+            // Only grow while at least half the limit is in use; an idle service learns nothing.
+            updateLimit(limit -> Math.min(maxLimit, limit + 1.0 / limit));
+        }
+    }
+
+    /**
+     * Ends an admitted request without adapting the limit, for requests that are slow by design.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return The current limit.
+     */
+    public double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * @return The number of admitted requests still in flight.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void updateLimit(DoubleUnaryOperator update) {
+        limitBits.updateAndGet(bits -> Double.doubleToLongBits(update.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("traffic.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit).register(registry);
+        Gauge.builder("traffic.concurrency.in.flight", this, AdaptiveConcurrencyLimiter::inFlight).register(registry);
+    }
+}
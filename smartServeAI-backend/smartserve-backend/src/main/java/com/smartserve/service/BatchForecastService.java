@@ -0,0 +1,68 @@
+package com.smartserve.service;
+
+import com.smartserve.model.BatchForecastResult;
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.ForecastResponse;
+import com.smartserve.model.HistoricalDataItem;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Service class responsible for forecasting many events in one call.
+ * Events are evaluated in parallel on the bounded forecast executor; each event
+ * completes independently, so one bad event only produces an error entry.
+ */
+@Service
+public class BatchForecastService {
+
+    private final FoodForecastService foodForecastService;
+    private final ExecutorService forecastExecutor;
+
+    public BatchForecastService(FoodForecastService foodForecastService,
+                                @Qualifier("forecastExecutor") ExecutorService forecastExecutor) {
+        this.foodForecastService = foodForecastService;
+        this.forecastExecutor = forecastExecutor;
+    }
+
+    /**
+     * Starts forecasting every event and returns one future per event, in request order.
+     * When history is shared, its consumption rate is computed once for the whole batch.
+     *
+     * @param events The events to forecast.
+     * @param historicalData History shared by all events, or null to use the server-side store.
+     * @return Futures that always complete normally, carrying either a forecast or an error.
+     */
+    public List<CompletableFuture<BatchForecastResult>> forecastAll(List<EventDetails> events, List<HistoricalDataItem> historicalData) {
+        Double sharedRate = historicalData != null ? FoodForecastService.averageConsumptionRate(historicalData) : null;
+        List<CompletableFuture<BatchForecastResult>> results = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            int index = i;
+            EventDetails event = events.get(i);
+            results.add(CompletableFuture
+                    .supplyAsync(() -> new BatchForecastResult(index, forecastOne(event, sharedRate), null), forecastExecutor)
+                    .exceptionally(e -> new BatchForecastResult(index, null, describe(e))));
+        }
+        return results;
+    }
+
+    private ForecastResponse forecastOne(EventDetails event, Double sharedRate) {
+        if (event == null) {
+            throw new IllegalArgumentException("Event details are missing");
+        }
+        if (sharedRate == null) {
+            return foodForecastService.predictFromStoredHistory(event);
+        }
+        return foodForecastService.predictWithConsumptionRate(sharedRate, event.getEventTypeId(), event.getAudienceProfileId(), event.getFootfall());
+    }
+
+    // Unwraps the CompletionException added by CompletableFuture.
+    private static String describe(Throwable e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartserve.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartserve.config.TrafficProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket per client.
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will next be full
+ * again, less one request (the generic cell rate algorithm, which behaves exactly like a token
+ * bucket of the configured burst and rate). A request is one compare-and-set; nothing is
+ * refilled in the background. Buckets live in a bounded cache and are dropped once idle long
+ * enough to be full again, so a flood of distinct client keys cannot grow memory without bound.
+ */
+@Component
+public class ClientRateLimiter implements MeterBinder {
+
+    private final Cache<String, AtomicLong> buckets;
+    // Nanoseconds per token: the inverse of the sustained rate.
+    private final long emissionInterval;
+    // How far ahead of now a bucket's schedule may run: (burst - 1) tokens.
+    private final long burstTolerance;
+
+    public ClientRateLimiter(TrafficProperties trafficProperties) {
+        TrafficProperties.RateLimit rateLimit = trafficProperties.getRateLimit();
+        this.emissionInterval = (long) (1_000_000_000L / rateLimit.getRequestsPerSecond());
+        this.burstTolerance = emissionInterval * Math.max(0, rateLimit.getBurst() - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(rateLimit.getMaxClients())
+                .expireAfterAccess(rateLimit.getIdleTimeout())
+                .build();
+    }
+
+    /**
+     * Takes one token from a client's bucket.
+     * @param client The client key.
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available.
+     */
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long scheduled = bucket.get();
+            // A bucket whose schedule lies in the past is simply full.
+            long base = scheduled - now > 0 ? scheduled : now;
+            long wait = base - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(scheduled, base + emissionInterval)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("traffic.rate.limit.clients", buckets, Cache::estimatedSize).register(registry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.smartserve.service;
+
+import com.smartserve.model.HistoricalRecord;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What follows a committed batch of history, whichever path wrote it (the write-behind queue or a
+ * streaming import): the records are folded into the consumption aggregates and the forecasting
+ * model, then a {@link HistoryRecordedEvent} is published for their venues.
+ */
+@Component
+public class CommittedHistoryHandler {
+
+    private final ConsumptionAggregateStore consumptionAggregateStore;
+    private final Forecaster forecaster;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CommittedHistoryHandler(ConsumptionAggregateStore consumptionAggregateStore,
+                                   Forecaster forecaster,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.consumptionAggregateStore = consumptionAggregateStore;
+        this.forecaster = forecaster;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Applies a batch of history that has just been committed.
+     * @param records The committed records.
+     */
+    public void committed(List<HistoricalRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        records.forEach(consumptionAggregateStore::record);
+        records.forEach(forecaster::observe);
+        Set<String> venues = records.stream().map(HistoricalRecord::getVenue).collect(Collectors.toSet());
+        eventPublisher.publishEvent(new HistoryRecordedEvent(venues));
+    }
+}
@@ -0,0 +1,67 @@
+package com.smartserve.service;
+
+import com.smartserve.model.CategoryDictionary;
+
+/**
+ * Immutable, compiled form of the forecast rules.
+ * Multipliers are stored in flat arrays indexed by {@link CategoryDictionary} ids, so a lookup
+ * is an array read: no string hashing and no allocation. Ids without a rule, including
+ * {@link CategoryDictionary#UNKNOWN}, get a neutral multiplier of 1.0.
+ */
+public final class CompiledForecastRules {
+
+    private final long version;
+    private final double baseMultiplier;
+    private final double[] eventTypeMultipliers;
+    private final double[] audienceProfileMultipliers;
+
+    CompiledForecastRules(long version, double baseMultiplier, double[] eventTypeMultipliers, double[] audienceProfileMultipliers) {
+        this.version = version;
+        this.baseMultiplier = baseMultiplier;
+        this.eventTypeMultipliers = eventTypeMultipliers;
+        this.audienceProfileMultipliers = audienceProfileMultipliers;
+    }
+
+    /**
+     * @return Monotonic version of this rule set, incremented on every reload that changes a multiplier.
+     */
+    public long version() {
+        return version;
+    }
+
+    public double baseMultiplier() {
+        return baseMultiplier;
+    }
+
+    public double eventTypeMultiplier(int eventTypeId) {
+        return lookup(eventTypeMultipliers, eventTypeId);
+    }
+
+    public double audienceProfileMultiplier(int audienceProfileId) {
+        return lookup(audienceProfileMultipliers, audienceProfileId);
+    }
+
+    /**
+     * @param other Another rule set.
+     * @return Whether both give every id the same multipliers, whatever their versions.
+     */
+    boolean sameMultipliers(CompiledForecastRules other) {
+        return baseMultiplier == other.baseMultiplier
+                && sameTable(eventTypeMultipliers, other.eventTypeMultipliers)
+                && sameTable(audienceProfileMultipliers, other.audienceProfileMultipliers);
+    }
+
+    // Tables may differ in length when names were registered in between; missing ids read as 1.0.
+    private static boolean sameTable(double[] a, double[] b) {
+        for (int id = 1; id < Math.max(a.length, b.length); id++) {
+            if (lookup(a, id) != lookup(b, id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double lookup(double[] table, int id) {
+        return id > 0 && id < table.length ? table[id] : 1.0;
+    }
+}
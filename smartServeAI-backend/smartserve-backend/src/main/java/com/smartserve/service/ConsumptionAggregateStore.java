@@ -0,0 +1,193 @@
+package com.smartserve.service;
+
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.repository.HistoricalRecordRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory store of precomputed consumption-rate aggregates.
+ * Statistics describe whole events: history recorded for a single menu item is left to the
+ * item's model series. They are kept per (venue, event type, audience profile), both per calendar
+ * month and per day, plus an audience-wide entry per event type used as a fallback. A window is
+ * answered from whole months where it covers them and from days at its partial edge months, so it
+ * counts exactly the days asked for. New history updates the aggregates in O(1), and a lookup
+ * costs at most a few dozen map reads whatever the size of the history.
+ * Reseeding from the database builds new buckets off to the side, swaps them in and then bumps
+ * every series' generation, so lookups never see a half-built store and nothing cached from the
+ * old buckets stays valid. Updates wait while a reseed runs, so none is lost in the swap.
+ */
+@Component
+public class ConsumptionAggregateStore {
+
+    // Audience profile key used for the per-event-type aggregate across all audiences.
+    static final String ANY_AUDIENCE = "*";
+
+    private final HistoricalRecordRepository historicalRecordRepository;
+    // The aggregates currently served; replaced as a whole by a reseed.
+    private volatile Buckets buckets = new Buckets();
+    // Update counters per series, bumped after the series' buckets change.
+    private final Map<SeriesKey, AtomicLong> generations = new ConcurrentHashMap<>();
+    // Updates share the read side; a reseed holds the write side. Lookups take no lock.
+    private final ReentrantReadWriteLock reseedLock = new ReentrantReadWriteLock();
+
+    public ConsumptionAggregateStore(HistoricalRecordRepository historicalRecordRepository) {
+        this.historicalRecordRepository = historicalRecordRepository;
+    }
+
+    /**
+     * Seeds the aggregates from the database once the application is up.
+     * The grouping is done by the database, so no history rows are loaded into memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromStore() {
+        reseedLock.writeLock().lock();
+        try {
+            Buckets seeded = new Buckets();
+            Set<SeriesKey> series = new HashSet<>(generations.keySet());
+            for (HistoricalRecordRepository.ConsumptionBucket row : historicalRecordRepository.aggregateConsumptionByDay()) {
+                ConsumptionStats.Summary summary = ConsumptionStats.Summary.fromSums(row.getCount(), row.getRateSum(), row.getRateSquareSum());
+                for (String audienceProfile : new String[] {row.getAudienceProfile(), ANY_AUDIENCE}) {
+                    seeded.month(row.getVenue(), row.getEventType(), audienceProfile, YearMonth.from(row.getDate())).merge(summary);
+                    seeded.day(row.getVenue(), row.getEventType(), audienceProfile, row.getDate()).merge(summary);
+                    series.add(new SeriesKey(row.getVenue(), row.getEventType(), audienceProfile));
+                }
+            }
+            buckets = seeded;
+            // Results computed from the old buckets, e.g. forecasts served before the application was ready, are stale.
+            series.forEach(key -> bump(key.venue(), key.eventType(), key.audienceProfile()));
+        } finally {
+            reseedLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Folds one historical event into the aggregates. Events without footfall carry no
+     * consumption rate, and per-item records do not describe the whole event; both are ignored.
+     * @param record The stored historical event.
+     */
+    public void record(HistoricalRecord record) {
+        if (record.getFootfall() <= 0 || record.getItemName() != null) {
+            return;
+        }
+        double rate = (double) record.getFoodConsumed() / record.getFootfall();
+        reseedLock.readLock().lock();
+        try {
+            Buckets current = buckets;
+            for (String audienceProfile : new String[] {record.getAudienceProfile(), ANY_AUDIENCE}) {
+                current.month(record.getVenue(), record.getEventType(), audienceProfile, YearMonth.from(record.getDate())).add(rate);
+                current.day(record.getVenue(), record.getEventType(), audienceProfile, record.getDate()).add(rate);
+            }
+            bump(record.getVenue(), record.getEventType(), record.getAudienceProfile());
+            bump(record.getVenue(), record.getEventType(), ANY_AUDIENCE);
+        } finally {
+            reseedLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The current generation of a series; it changes whenever the series is updated.
+     */
+    public long generation(String venue, String eventType, String audienceProfile) {
+        AtomicLong generation = generations.get(new SeriesKey(venue, eventType, audienceProfile));
+        return generation != null ? generation.get() : 0L;
+    }
+
+    /**
+     * Returns the consumption statistics for a series over a date window, both ends inclusive.
+     * Months the window covers entirely are read from their month aggregate and the days of a
+     * partially covered month from their day aggregates, so nothing outside the window is counted.
+     *
+     * @param venue The venue.
+     * @param eventType The event type.
+     * @param audienceProfile The audience profile, or {@link #ANY_AUDIENCE} for all audiences.
+     * @param from First day of the window.
+     * @param to Last day of the window.
+     * @return The combined statistics; empty if nothing has been recorded.
+     */
+    public ConsumptionStats.Summary summary(String venue, String eventType, String audienceProfile, LocalDate from, LocalDate to) {
+        Buckets current = buckets;
+        ConsumptionStats.Summary total = ConsumptionStats.Summary.EMPTY;
+        LocalDate day = from;
+        while (!day.isAfter(to)) {
+            YearMonth month = YearMonth.from(day);
+            LocalDate monthEnd = month.atEndOfMonth();
+            if (day.getDayOfMonth() == 1 && !monthEnd.isAfter(to)) {
+                total = combine(total, current.months.get(new MonthKey(venue, eventType, audienceProfile, month)));
+                day = monthEnd.plusDays(1);
+            } else {
+                total = combine(total, current.days.get(new DayKey(venue, eventType, audienceProfile, day)));
+                day = day.plusDays(1);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the statistics for the exact audience if any exist, otherwise for all
+     * audiences of the event type, together with the series that was used and its generation.
+     * The generation is read before the statistics, so a concurrent update can only make the
+     * returned generation look older than the data, never newer.
+     */
+    public Lookup summaryWithFallback(String venue, String eventType, String audienceProfile, LocalDate from, LocalDate to) {
+        long exactGeneration = generation(venue, eventType, audienceProfile);
+        ConsumptionStats.Summary exact = summary(venue, eventType, audienceProfile, from, to);
+        if (exact.count() > 0) {
+            return new Lookup(exact, audienceProfile, exactGeneration);
+        }
+        long anyGeneration = generation(venue, eventType, ANY_AUDIENCE);
+        return new Lookup(summary(venue, eventType, ANY_AUDIENCE, from, to), ANY_AUDIENCE, anyGeneration);
+    }
+
+    /**
+     * Result of {@link #summaryWithFallback}.
+     * @param summary The consumption statistics.
+     * @param audienceProfile The audience series the statistics came from.
+     * @param generation The generation of that series when it was read.
+     */
+    public record Lookup(ConsumptionStats.Summary summary, String audienceProfile, long generation) {
+    }
+
+    private void bump(String venue, String eventType, String audienceProfile) {
+        generations.computeIfAbsent(new SeriesKey(venue, eventType, audienceProfile), key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static ConsumptionStats.Summary combine(ConsumptionStats.Summary total, ConsumptionStats stats) {
+        return stats != null ? total.combine(stats.snapshot()) : total;
+    }
+
+    // One complete set of aggregates.
+    private static final class Buckets {
+        // Aggregates per series and month.
+        final Map<MonthKey, ConsumptionStats> months = new ConcurrentHashMap<>();
+        // Aggregates per series and day, for the partial months at the edges of a window.
+        final Map<DayKey, ConsumptionStats> days = new ConcurrentHashMap<>();
+
+        ConsumptionStats month(String venue, String eventType, String audienceProfile, YearMonth month) {
+            return months.computeIfAbsent(new MonthKey(venue, eventType, audienceProfile, month), key -> new ConsumptionStats());
+        }
+
+        ConsumptionStats day(String venue, String eventType, String audienceProfile, LocalDate day) {
+            return days.computeIfAbsent(new DayKey(venue, eventType, audienceProfile, day), key -> new ConsumptionStats());
+        }
+    }
+
+    private record SeriesKey(String venue, String eventType, String audienceProfile) {
+    }
+
+    private record MonthKey(String venue, String eventType, String audienceProfile, YearMonth month) {
+    }
+
+    private record DayKey(String venue, String eventType, String audienceProfile, LocalDate day) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.smartserve.service;
+
+/**
+ * Running mean and variance of consumption rates (food consumed per attendee).
+ * Uses Welford's online algorithm so each new observation is an O(1) update,
+ * and Chan's formula so summaries of several buckets can be combined cheaply.
+ */
+public final class ConsumptionStats {
+
+    // Number of observations folded in so far.
+    private long count;
+    // Running mean of the observed rates.
+    private double mean;
+    // Sum of squared deviations from the mean (variance * count).
+    private double m2;
+
+    /**
+     * Adds one observed consumption rate.
+     * @param rate Food consumed divided by footfall for one event.
+     */
+    public synchronized void add(double rate) {
+        count++;
+        double delta = rate - mean;
+        mean += delta / count;
+        m2 += delta * (rate - mean);
+    }
+
+    /**
+     * Folds a pre-aggregated group of observations into this accumulator.
+     * @param other The summary to merge in.
+     */
+    public synchronized void merge(Summary other) {
+        Summary merged = new Summary(count, mean, m2).combine(other);
+        count = merged.count();
+        mean = merged.mean();
+        m2 = merged.m2();
+    }
+
+    /**
+     * @return A consistent, immutable view of the current statistics.
+     */
+    public synchronized Summary snapshot() {
+        return new Summary(count, mean, m2);
+    }
+
+    /**
+     * Immutable summary of a set of consumption rates.
+     * @param count Number of observations.
+     * @param mean Mean consumption rate.
+     * @param m2 Sum of squared deviations from the mean.
+     */
+    public record Summary(long count, double mean, double m2) {
+
+        public static final Summary EMPTY = new Summary(0, 0.0, 0.0);
+
+        /**
+         * Builds a summary from raw sums, as returned by a database aggregate query.
+         * @param count Number of observations.
+         * @param sum Sum of the rates.
+         * @param sumOfSquares Sum of the squared rates.
+         * @return The equivalent summary.
+         */
+        public static Summary fromSums(long count, double sum, double sumOfSquares) {
+            if (count == 0) {
+                return EMPTY;
+            }
+            double mean = sum / count;
+            return new Summary(count, mean, Math.max(0.0, sumOfSquares - count * mean * mean));
+        }
+
+        /**
+         * Combines two summaries (Chan et al. parallel variance).
+         * @param other The summary to combine with.
+         * @return The summary of both sets of observations.
+         */
+        public Summary combine(Summary other) {
+            if (other.count == 0) {
+                return this;
+            }
+            if (count == 0) {
+                return other;
+            }
+            long n = count + other.count;
+            double delta = other.mean - mean;
+            double combinedMean = mean + delta * other.count / n;
+            double combinedM2 = m2 + other.m2 + delta * delta * count * other.count / n;
+            return new Summary(n, combinedMean, combinedM2);
+        }
+
+        /**
+         * @return The sample variance of the rates, or 0 with fewer than two observations.
+         */
+        public double variance() {
+            return count > 1 ? m2 / (count - 1) : 0.0;
+        }
+    }
+}
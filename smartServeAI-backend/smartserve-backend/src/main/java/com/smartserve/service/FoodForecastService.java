@@ -1,19 +1,80 @@
 package com.smartserve.service;
 
+import com.smartserve.model.CategoryDictionary;
+import com.smartserve.model.EventDetails;
 import com.smartserve.model.ForecastResponse;
 import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.HistoryColumns;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
  * Service class responsible for handling the food preparation forecasting logic.
- * In a real-world application, this would involve integrating with a machine learning model
- * and potentially fetching historical data from a persistent storage.
+ * Stored-history forecasts take the consumption rate from the time-series {@link Forecaster},
+ * which accounts for trend and seasonality on the event date, and fall back to the plain
+ * average of comparable history while a series is too short to model.
  */
 @Service
 public class FoodForecastService {
 
+    private final HistoricalDataService historicalDataService;
+    private final ForecastRulesEngine forecastRulesEngine;
+    private final ForecastCache forecastCache;
+    private final ForecastMetrics forecastMetrics;
+    private final Forecaster forecaster;
+
+    public FoodForecastService(HistoricalDataService historicalDataService,
+                               ForecastRulesEngine forecastRulesEngine,
+                               ForecastCache forecastCache,
+                               ForecastMetrics forecastMetrics,
+                               Forecaster forecaster) {
+        this.historicalDataService = historicalDataService;
+        this.forecastRulesEngine = forecastRulesEngine;
+        this.forecastCache = forecastCache;
+        this.forecastMetrics = forecastMetrics;
+        this.forecaster = forecaster;
+    }
+
+    /**
+     * Forecasts an event using the history held in the server-side store instead of
+     * history sent with the request. Only the event details are needed. Results are
+     * cached until the TTL expires or history for the same series is recorded.
+     *
+     * @param eventDetails The details of the event to forecast.
+     * @return ForecastResponse containing the predicted food quantity and waste reduction potential.
+     */
+    public ForecastResponse predictFromStoredHistory(EventDetails eventDetails) {
+        String venue = eventDetails.getVenue() != null ? eventDetails.getVenue() : HistoricalRecord.DEFAULT_VENUE;
+        LocalDate eventDate = eventDetails.getLocalDate() != null ? eventDetails.getLocalDate() : LocalDate.now();
+        ForecastCache.Key key = new ForecastCache.Key(venue, eventDetails.getItemName(), eventDetails.getEventType(), eventDetails.getAudienceProfile(),
+                eventDetails.getFootfall(), eventDate, forecastRulesEngine.current().version(), forecaster.version());
+        ForecastResponse cached = forecastCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        long modelGeneration = forecaster.generation(venue, eventDetails.getItemName(), eventDetails.getEventType());
+        ConsumptionAggregateStore.Lookup consumption = historicalDataService.consumptionSummary(
+                venue, eventDetails.getEventType(), eventDetails.getAudienceProfile(), eventDate);
+        double consumptionRate = forecaster.forecast(venue, eventDetails.getItemName(), eventDetails.getEventType(), eventDate);
+        if (Double.isNaN(consumptionRate)) {
+            consumptionRate = consumption.summary().count() > 0 ? consumption.summary().mean() : 1.0;
+        }
+        forecastMetrics.recordAggregation(start);
+        ForecastResponse response = predictWithConsumptionRate(
+                consumptionRate,
+                eventDetails.getEventTypeId(),
+                eventDetails.getAudienceProfileId(),
+                eventDetails.getFootfall()
+        );
+        forecastCache.put(key, response, consumption, modelGeneration);
+        return response;
+    }
+
     /**
      * This method simulates the food preparation forecasting logic.
      *
@@ -41,58 +102,152 @@ public class FoodForecastService {
             String audienceProfile,
             int footfall
     ) {
-        // --- START: Mock Forecasting Logic (Replace with actual ML model integration) ---
+        return predictFoodPreparation(
+                historicalData,
+                CategoryDictionary.EVENT_TYPES.lookup(eventType),
+                CategoryDictionary.AUDIENCE_PROFILES.lookup(audienceProfile),
+                footfall
+        );
+    }
 
-        // Initial base forecast: Assume 20% more food than expected footfall.
-        double baseForecast = footfall * 1.2;
-
-        // Adjust forecast based on event type.
-        switch (eventType) {
-            case "Holiday Party":
-                baseForecast *= 1.15; // Increase for holiday parties (higher consumption).
-                break;
-            case "Corporate Lunch":
-                baseForecast *= 0.95; // Decrease slightly for corporate lunches (more controlled portions).
-                break;
-            case "Weekend Brunch":
-                baseForecast *= 1.08; // Slight increase for brunches.
-                break;
-            case "Birthday Celebration":
-                baseForecast *= 1.0; // No specific adjustment for birthdays in this mock.
-                break;
-            case "Other":
-                // No specific adjustment for 'Other' event types.
-                break;
-        }
+    /**
+     * Same as {@link #predictFoodPreparation(List, String, String, int)}, for callers that
+     * already hold the interned category ids (e.g. from a deserialized EventDetails).
+     *
+     * @param historicalData A list of past event data.
+     * @param eventTypeId The interned id of the event type.
+     * @param audienceProfileId The interned id of the audience profile.
+     * @param footfall The expected number of attendees for the event.
+     * @return ForecastResponse containing the predicted food quantity and a mock waste reduction potential.
+     */
+    public ForecastResponse predictFoodPreparation(
+            List<HistoricalDataItem> historicalData,
+            int eventTypeId,
+            int audienceProfileId,
+            int footfall
+    ) {
+        long start = System.nanoTime();
+        double averageConsumptionRate = averageConsumptionRate(historicalData);
+        forecastMetrics.recordAggregation(start);
+        forecastMetrics.recordHistorySize(historicalData.size());
+        return predictWithConsumptionRate(averageConsumptionRate, eventTypeId, audienceProfileId, footfall);
+    }
 
-        // Adjust forecast based on audience profile.
-        switch (audienceProfile) {
-            case "Families":
-                baseForecast *= 1.07; // Families might consume slightly more per person.
-                break;
-            case "Professionals":
-                baseForecast *= 0.98; // Professionals might consume slightly less.
-                break;
-            case "Young Adults":
-                baseForecast *= 1.05; // Young adults might consume more.
-                break;
-            case "Students":
-                baseForecast *= 1.10; // Students might consume more.
-                break;
-            case "Mixed":
-                // No specific adjustment for 'Mixed' audience.
-                break;
-        }
+    /**
+     * Same as {@link #predictFoodPreparation(List, int, int, int)}, for history sent in columnar
+     * form. The consumption rate is computed straight from the primitive columns.
+     *
+     * @param history The past event data, already validated.
+     * @param eventTypeId The interned id of the event type.
+     * @param audienceProfileId The interned id of the audience profile.
+     * @param footfall The expected number of attendees for the event.
+     * @return ForecastResponse containing the predicted food quantity and a mock waste reduction potential.
+     */
+    public ForecastResponse predictFoodPreparation(
+            HistoryColumns history,
+            int eventTypeId,
+            int audienceProfileId,
+            int footfall
+    ) {
+        long start = System.nanoTime();
+        double averageConsumptionRate = averageConsumptionRate(history.getFootfall(), history.getFoodConsumed());
+        forecastMetrics.recordAggregation(start);
+        forecastMetrics.recordHistorySize(history.size());
+        return predictWithConsumptionRate(averageConsumptionRate, eventTypeId, audienceProfileId, footfall);
+    }
 
-        // Simulate a very simple "feedback loop" concept using historical data.
-        // In a real system, historicalData would be used to train/refine a complex ML model.
-        // Here, we just calculate an average consumption rate from the mock historical data
-        // and apply a small adjustment based on it.
-        double averageConsumptionRate = historicalData.stream()
+    /**
+     * Simulate a very simple "feedback loop" concept using historical data.
+     * In a real system, historicalData would be used to train/refine a complex ML model.
+     * Here, we just calculate an average consumption rate from the mock historical data,
+     * which is then applied as a small adjustment. Events without footfall are skipped.
+     *
+     * @param historicalData A list of past event data.
+     * @return The mean food consumed per attendee, or 1.0 when there is no usable history.
+     */
+    static double averageConsumptionRate(List<HistoricalDataItem> historicalData) {
+        return historicalData.stream()
+                .filter(item -> item.getFootfall() > 0)
                 .mapToDouble(item -> (double) item.getFoodConsumed() / item.getFootfall())
                 .average()
                 .orElse(1.0); // Default to 1.0 if no historical data is available to prevent division by zero.
+    }
+
+    /**
+     * Columnar counterpart of {@link #averageConsumptionRate(List)}.
+     *
+     * @param footfall Footfall per past event.
+     * @param foodConsumed Food consumed per past event.
+     * @return The mean food consumed per attendee, or 1.0 when there is no usable history.
+     */
+    static double averageConsumptionRate(int[] footfall, int[] foodConsumed) {
+        double sum = 0.0;
+        int count = 0;
+        for (int i = 0; i < footfall.length; i++) {
+            if (footfall[i] > 0) {
+                sum += (double) foodConsumed[i] / footfall[i];
+                count++;
+            }
+        }
+        return count > 0 ? sum / count : 1.0;
+    }
+
+    /**
+     * Applies the forecasting rules given an already computed average consumption rate.
+     * Shared by the request-history and stored-history paths.
+     *
+     * @param averageConsumptionRate Mean food consumed per attendee in comparable past events.
+     * @param eventTypeId The interned id of the event type (see CategoryDictionary).
+     * @param audienceProfileId The interned id of the audience profile.
+     * @param footfall The expected number of attendees for the event.
+     * @return ForecastResponse containing the predicted food quantity and a mock waste reduction potential.
+     */
+    ForecastResponse predictWithConsumptionRate(
+            double averageConsumptionRate,
+            int eventTypeId,
+            int audienceProfileId,
+            int footfall
+    ) {
+        long start = System.nanoTime();
+        ForecastResponse response = applyConsumptionRate(
+                eventBaseForecast(eventTypeId, audienceProfileId, footfall), averageConsumptionRate, footfall);
+        forecastMetrics.recordPrediction(start);
+        return response;
+    }
+
+    /**
+     * The event-level part of the forecast: expected footfall scaled by the rule multipliers.
+     * It does not depend on the history, so a menu forecast computes it once for all items.
+     *
+     * @param eventTypeId The interned id of the event type (see CategoryDictionary).
+     * @param audienceProfileId The interned id of the audience profile.
+     * @param footfall The expected number of attendees for the event.
+     * @return The base forecast before the consumption rate is applied.
+     */
+    double eventBaseForecast(int eventTypeId, int audienceProfileId, int footfall) {
+        // --- START: Mock Forecasting Logic (Replace with actual ML model integration) ---
+
+        CompiledForecastRules rules = forecastRulesEngine.current();
 
+        // Initial base forecast: by default, assume 20% more food than expected footfall.
+        double baseForecast = footfall * rules.baseMultiplier();
+
+        // Adjust forecast based on event type and audience profile. The multipliers come from
+        // the compiled rules table, indexed by the ids resolved when the request was deserialized.
+        baseForecast *= rules.eventTypeMultiplier(eventTypeId);
+        baseForecast *= rules.audienceProfileMultiplier(audienceProfileId);
+        return baseForecast;
+    }
+
+    /**
+     * Completes a forecast from the event-level base and a consumption rate.
+     *
+     * @param baseForecast The result of {@link #eventBaseForecast}.
+     * @param averageConsumptionRate Mean food consumed per attendee in comparable past events.
+     * @param footfall The expected number of attendees for the event.
+     * @return ForecastResponse containing the predicted food quantity and a mock waste reduction potential.
+     */
+    static ForecastResponse applyConsumptionRate(double baseForecast, double averageConsumptionRate, int footfall) {
         // Apply this average consumption rate as a final adjustment.
         baseForecast *= averageConsumptionRate;
 
@@ -103,12 +258,11 @@ public class FoodForecastService {
         // This is a simplified calculation: comparing against a higher, less optimized
         // "simple estimate" (e.g., footfall * 2.0) to show potential savings from a more precise forecast.
         // Changed the multiplier for simpleEstimate to make waste reduction more apparent.
-        int simpleEstimate = (int) Math.round(footfall * 2.0); // Increased from 1.5 to 2.0
-        int wasteReductionPotential = Math.max(0, simpleEstimate - predictedFoodQuantity);
+        int wasteReductionPotential = ForecastResponse.wasteReductionPotential(predictedFoodQuantity, footfall);
 
         // --- END: Mock Forecasting Logic ---
 
         // Return the forecast response.
         return new ForecastResponse(predictedFoodQuantity, wasteReductionPotential);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package com.smartserve.service;
+
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.repository.FoodForecastRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Running forecast error statistics per venue and event type: mean absolute error, mean absolute
+ * percentage error and bias (mean signed error; positive means over-preparation).
+ * Totals across all venues are kept alongside, so either view is a single map read.
+ * Each recorded outcome updates a handful of sums in O(1), so reading the accuracy never
+ * scans the stored forecasts. The sums are seeded from the database at startup.
+ */
+@Component
+public class ForecastAccuracyTracker {
+
+    // Key of the statistics across all event types.
+    public static final String ALL_EVENT_TYPES = "*";
+    // Key of the statistics across all venues.
+    public static final String ALL_VENUES = "*";
+    // Key used for forecasts without an event type.
+    private static final String NO_EVENT_TYPE = "";
+
+    private final FoodForecastRepository foodForecastRepository;
+    // Venue, then event type.
+    private final Map<String, Map<String, ErrorSums>> sums = new ConcurrentHashMap<>();
+
+    public ForecastAccuracyTracker(FoodForecastRepository foodForecastRepository) {
+        this.foodForecastRepository = foodForecastRepository;
+    }
+
+    /**
+     * Seeds the sums from the forecasts whose outcome has already been recorded.
+     * The grouping is done by the database, so no forecast rows are loaded into memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromStore() {
+        sums.clear();
+        for (FoodForecastRepository.ErrorSums row : foodForecastRepository.sumErrorsByEventType()) {
+            String venue = row.getVenue() != null ? row.getVenue() : HistoricalRecord.DEFAULT_VENUE;
+            String eventType = row.getEventType() != null ? row.getEventType() : NO_EVENT_TYPE;
+            add(venue, eventType, row.getCount(), row.getAbsoluteErrorSum(), row.getErrorSum(),
+                    row.getPercentageCount(), row.getAbsolutePercentageErrorSum());
+        }
+    }
+
+    /**
+     * Folds one forecast outcome into the statistics.
+     * @param venue The venue the forecast was made for.
+     * @param eventType The event type of the forecast.
+     * @param predicted The forecast quantity.
+     * @param consumed The quantity actually consumed.
+     */
+    public void record(String venue, String eventType, int predicted, int consumed) {
+        double error = predicted - consumed;
+        long percentageCount = consumed > 0 ? 1 : 0;
+        double percentageError = consumed > 0 ? Math.abs(error) / consumed : 0.0;
+        add(venue != null ? venue : HistoricalRecord.DEFAULT_VENUE, eventType != null ? eventType : NO_EVENT_TYPE,
+                1, Math.abs(error), error, percentageCount, percentageError);
+    }
+
+    /**
+     * @param venue The venue, or {@link #ALL_VENUES} for all venues together.
+     * @return The accuracy per event type, plus the total under {@link #ALL_EVENT_TYPES}; empty if nothing was recorded.
+     */
+    public Map<String, Accuracy> accuracy(String venue) {
+        Map<String, Accuracy> accuracy = new TreeMap<>();
+        sums.getOrDefault(venue, Map.of()).forEach((eventType, errorSums) -> accuracy.put(eventType, errorSums.accuracy()));
+        return accuracy;
+    }
+
+    // Adds to the venue's and the all-venue sums, each for the event type and for all event types.
+    private void add(String venue, String eventType, long count, double absoluteError, double error,
+                     long percentageCount, double absolutePercentageError) {
+        for (String venueKey : new String[] {venue, ALL_VENUES}) {
+            Map<String, ErrorSums> venueSums = sums.computeIfAbsent(venueKey, key -> new ConcurrentHashMap<>());
+            venueSums.computeIfAbsent(eventType, key -> new ErrorSums())
+                    .add(count, absoluteError, error, percentageCount, absolutePercentageError);
+            venueSums.computeIfAbsent(ALL_EVENT_TYPES, key -> new ErrorSums())
+                    .add(count, absoluteError, error, percentageCount, absolutePercentageError);
+        }
+    }
+
+    /**
+     * Forecast accuracy of one event type.
+     * @param count Outcomes recorded.
+     * @param mae Mean absolute error, in food quantity units.
+     * @param mape Mean absolute percentage error, as a fraction; null if nothing was consumed in any event.
+     * @param bias Mean signed error; positive means forecasts run high.
+     */
+    public record Accuracy(long count, double mae, Double mape, double bias) {
+    }
+
+    private static final class ErrorSums {
+        private long count;
+        private double absoluteErrorSum;
+        private double errorSum;
+        private long percentageCount;
+        private double absolutePercentageErrorSum;
+
+        synchronized void add(long count, double absoluteError, double error, long percentageCount, double absolutePercentageError) {
+            this.count += count;
+            this.absoluteErrorSum += absoluteError;
+            this.errorSum += error;
+            this.percentageCount += percentageCount;
+            this.absolutePercentageErrorSum += absolutePercentageError;
+        }
+
+        synchronized Accuracy accuracy() {
+            return new Accuracy(
+                    count,
+                    count > 0 ? absoluteErrorSum / count : 0.0,
+                    percentageCount > 0 ? absolutePercentageErrorSum / percentageCount : null,
+                    count > 0 ? errorSum / count : 0.0);
+        }
+    }
+}
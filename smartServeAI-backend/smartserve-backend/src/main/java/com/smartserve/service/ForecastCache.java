@@ -0,0 +1,147 @@
+package com.smartserve.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartserve.model.ForecastResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process cache of stored-history forecasts.
+ * Each venue has its own cache with its own size bound, so one busy venue cannot evict every other
+ * venue's forecasts; the venues with a cache are themselves bounded, least recently used first.
+ * Entries expire after a TTL and are evicted by size. Each entry remembers the generations of the
+ * consumption series and of the model series it was computed from; a lookup whose series have since
+ * received new history is treated as a miss and dropped, so a forecast is never served after its
+ * inputs changed.
+ * Forecasts computed from history sent with the request are not cached.
+ * The statistics are also published as meters.
+ */
+@Component
+public class ForecastCache implements MeterBinder {
+
+    private final HistoricalDataService historicalDataService;
+    private final Forecaster forecaster;
+    private final Cache<String, Cache<Key, Entry>> venues;
+    private final long venueMaximumSize;
+    private final Duration ttl;
+    // Lookups answered from the cache, lookups that had to compute, and entries found stale.
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    public ForecastCache(HistoricalDataService historicalDataService,
+                         Forecaster forecaster,
+                         @Value("${smartserve.forecast.cache.venue-maximum-size:2000}") long venueMaximumSize,
+                         @Value("${smartserve.forecast.cache.maximum-venues:500}") long maximumVenues,
+                         @Value("${smartserve.forecast.cache.ttl:PT10M}") Duration ttl) {
+        this.historicalDataService = historicalDataService;
+        this.forecaster = forecaster;
+        this.venueMaximumSize = venueMaximumSize;
+        this.ttl = ttl;
+        this.venues = Caffeine.newBuilder()
+                .maximumSize(maximumVenues)
+                .build();
+    }
+
+    /**
+     * Returns the cached forecast for a key if present and still fresh.
+     * @param key The forecast inputs.
+     * @return A copy of the cached forecast, or null on a miss.
+     */
+    public ForecastResponse get(Key key) {
+        Cache<Key, Entry> cache = venues.getIfPresent(key.venue());
+        Entry entry = cache != null ? cache.getIfPresent(key) : null;
+        if (entry != null && (historicalDataService.isStale(key.venue(), key.eventType(), entry.lookup())
+                || forecaster.generation(key.venue(), key.itemName(), key.eventType()) != entry.modelGeneration())) {
+            cache.asMap().remove(key, entry);
+            stale.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // Hand out a fresh object so callers can decorate the response without touching the cache.
+        return new ForecastResponse(entry.predictedFoodQuantity(), entry.wasteReductionPotential());
+    }
+
+    /**
+     * Caches a forecast computed from a consumption lookup.
+     * @param key The forecast inputs.
+     * @param response The computed forecast.
+     * @param lookup The consumption lookup the forecast was derived from.
+     * @param modelGeneration The generation of the model series, read before the forecast was made.
+     */
+    public void put(Key key, ForecastResponse response, ConsumptionAggregateStore.Lookup lookup, long modelGeneration) {
+        venues.get(key.venue(), this::newVenueCache).put(key, new Entry(response.getPredictedFoodQuantity(), response.getWasteReductionPotential(), lookup, modelGeneration));
+    }
+
+    private Cache<Key, Entry> newVenueCache(String venue) {
+        return Caffeine.newBuilder()
+                .maximumSize(venueMaximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return Hit/miss counts, hit ratio, stale drops, evictions, current size and the number of venues cached.
+     */
+    public Map<String, Number> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Number> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("stale", stale.sum());
+        stats.put("evictions", venues.asMap().values().stream().mapToLong(cache -> cache.stats().evictionCount()).sum());
+        stats.put("size", size());
+        stats.put("venues", venues.estimatedSize());
+        return stats;
+    }
+
+    private long size() {
+        long size = 0;
+        for (Cache<Key, Entry> cache : venues.asMap().values()) {
+            size += cache.estimatedSize();
+        }
+        return size;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("forecast.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("forecast.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("forecast.cache.stale", stale, LongAdder::sum).register(registry);
+        Gauge.builder("forecast.cache.hit.ratio", this, cache -> cache.stats().get("hitRatio").doubleValue()).register(registry);
+        Gauge.builder("forecast.cache.size", this, ForecastCache::size).register(registry);
+        Gauge.builder("forecast.cache.venues", venues, Cache::estimatedSize).register(registry);
+    }
+
+    /**
+     * Everything a stored-history forecast depends on besides the history itself.
+     */
+    public record Key(String venue, String itemName, String eventType, String audienceProfile, int footfall, LocalDate date,
+                      long rulesVersion, long modelVersion) {
+    }
+
+    private record Entry(int predictedFoodQuantity, int wasteReductionPotential, ConsumptionAggregateStore.Lookup lookup,
+                         long modelGeneration) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.smartserve.service;
+
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.FoodForecast;
+import com.smartserve.model.ForecastActuals;
+import com.smartserve.model.ForecastResponse;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.repository.BulkInsertRepository;
+import com.smartserve.repository.FoodForecastRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Closes the forecasting feedback loop.
+ * Every forecast handed out is stored with an id. When the actual outcome is reported against
+ * that id it is recorded on the forecast, folded into the running accuracy statistics, and added
+ * to the venue's history so later forecasts and the model learn from it.
+ */
+@Service
+public class ForecastFeedbackService {
+
+    private static final Logger log = LoggerFactory.getLogger(ForecastFeedbackService.class);
+
+    private final BulkInsertRepository bulkInsertRepository;
+    private final FoodForecastRepository foodForecastRepository;
+    private final WriteBehindQueue<FoodForecast> forecastWriteBehind;
+    private final WriteBehindQueue<HistoricalRecord> historyWriteBehind;
+    private final ForecastAccuracyTracker forecastAccuracyTracker;
+
+    public ForecastFeedbackService(BulkInsertRepository bulkInsertRepository,
+                                   FoodForecastRepository foodForecastRepository,
+                                   WriteBehindQueue<FoodForecast> forecastWriteBehind,
+                                   WriteBehindQueue<HistoricalRecord> historyWriteBehind,
+                                   ForecastAccuracyTracker forecastAccuracyTracker) {
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.foodForecastRepository = foodForecastRepository;
+        this.forecastWriteBehind = forecastWriteBehind;
+        this.historyWriteBehind = historyWriteBehind;
+        this.forecastAccuracyTracker = forecastAccuracyTracker;
+    }
+
+    /**
+     * Stores a forecast and stamps its id on the response. The row is written in the background;
+     * if the write queue is saturated the forecast is returned without an id.
+     *
+     * @param eventDetails The event that was forecast.
+     * @param response The forecast handed out.
+     * @return The same response, with its forecast id set.
+     */
+    public ForecastResponse record(EventDetails eventDetails, ForecastResponse response) {
+        return record(eventDetails, eventDetails.getItemName(), response);
+    }
+
+    /**
+     * Same as {@link #record(EventDetails, ForecastResponse)}, for one item of a menu forecast.
+     *
+     * @param eventDetails The event that was forecast.
+     * @param itemName The menu item the forecast is for.
+     * @param response The forecast handed out.
+     * @return The same response, with its forecast id set.
+     */
+    public ForecastResponse record(EventDetails eventDetails, String itemName, ForecastResponse response) {
+        FoodForecast forecast = new FoodForecast();
+        forecast.setVenue(eventDetails.getVenue() != null ? eventDetails.getVenue() : HistoricalRecord.DEFAULT_VENUE);
+        forecast.setItemName(itemName);
+        forecast.setEventType(eventDetails.getEventType());
+        forecast.setAudienceProfile(eventDetails.getAudienceProfile());
+        forecast.setExpectedFootfall(eventDetails.getFootfall());
+        forecast.setQuantityRecommended(response.getPredictedFoodQuantity());
+        forecast.setDate(eventDetails.getLocalDate() != null ? eventDetails.getLocalDate() : LocalDate.now());
+        try {
+            forecast.setId(bulkInsertRepository.nextForecastId());
+            forecastWriteBehind.submit(forecast).exceptionally(e -> {
+                log.warn("Could not store forecast {}", forecast.getId(), e);
+                return null;
+            });
+            response.setForecastId(forecast.getId());
+        } catch (RejectedExecutionException e) {
+            log.warn("Forecast not stored: {}", e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Records the actual outcome of a stored forecast.
+     *
+     * @param forecastId The id returned with the forecast.
+     * @param actuals The quantities prepared and consumed.
+     * @return The forecast and actual quantities and the forecast error.
+     * @throws IllegalArgumentException If a quantity is missing or negative.
+     * @throws NoSuchElementException If no forecast has that id (it may not have been written yet).
+     * @throws IllegalStateException If an outcome was already recorded for the forecast.
+     */
+    public Map<String, Object> recordActuals(long forecastId, ForecastActuals actuals) {
+        if (actuals.getFoodPrepared() == null || actuals.getFoodConsumed() == null) {
+            throw new IllegalArgumentException("foodPrepared and foodConsumed are required");
+        }
+        int foodPrepared = actuals.getFoodPrepared();
+        int foodConsumed = actuals.getFoodConsumed();
+        if (foodPrepared < 0 || foodConsumed < 0 || (actuals.getFootfall() != null && actuals.getFootfall() < 0)) {
+            throw new IllegalArgumentException("Quantities must not be negative");
+        }
+        // The conditional update makes recording idempotent under concurrent reports.
+        int updated = foodForecastRepository.recordActuals(forecastId, foodPrepared, foodConsumed, Instant.now());
+        FoodForecast forecast = foodForecastRepository.findById(forecastId)
+                .orElseThrow(() -> new NoSuchElementException("No forecast " + forecastId));
+        if (updated == 0) {
+            throw new IllegalStateException("Actuals were already recorded for forecast " + forecastId);
+        }
+
+        // Accuracy and history go to the forecast's own venue, so outcomes never feed another venue's model.
+        forecastAccuracyTracker.record(forecast.getVenue(), forecast.getEventType(), forecast.getQuantityRecommended(), foodConsumed);
+        if (forecast.getEventType() != null && forecast.getAudienceProfile() != null) {
+            HistoricalRecord record = new HistoricalRecord();
+            record.setVenue(forecast.getVenue() != null ? forecast.getVenue() : HistoricalRecord.DEFAULT_VENUE);
+            record.setDate(forecast.getDate());
+            record.setEventType(forecast.getEventType());
+            record.setAudienceProfile(forecast.getAudienceProfile());
+            record.setItemName(forecast.getItemName());
+            record.setFootfall(actuals.getFootfall() != null ? actuals.getFootfall() : forecast.getExpectedFootfall());
+            record.setFoodPrepared(foodPrepared);
+            record.setFoodConsumed(foodConsumed);
+            try {
+                historyWriteBehind.submit(record);
+            } catch (RejectedExecutionException e) {
+                log.warn("Actuals for forecast {} not added to history: {}", forecastId, e.getMessage());
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("forecastId", forecastId);
+        result.put("predictedFoodQuantity", forecast.getQuantityRecommended());
+        result.put("foodConsumed", foodConsumed);
+        result.put("error", forecast.getQuantityRecommended() - foodConsumed);
+        return result;
+    }
+
+    /**
+     * @param venue The venue, or {@link ForecastAccuracyTracker#ALL_VENUES} for all venues together.
+     * @return Running accuracy per event type and overall.
+     */
+    public Map<String, ForecastAccuracyTracker.Accuracy> accuracy(String venue) {
+        return forecastAccuracyTracker.accuracy(venue);
+    }
+}
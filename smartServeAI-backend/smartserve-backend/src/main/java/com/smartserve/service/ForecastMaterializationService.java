@@ -0,0 +1,308 @@
+package com.smartserve.service;
+
+import com.smartserve.model.FoodForecast;
+import com.smartserve.model.ForecastResponse;
+import com.smartserve.model.ScheduledEvent;
+import com.smartserve.repository.BulkInsertRepository;
+import com.smartserve.repository.FoodForecastRepository;
+import com.smartserve.repository.ScheduledEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Materializes forecasts for the upcoming occurrences of scheduled events into {@link FoodForecast} rows,
+ * so the forecasts planners look at most are read from an indexed table instead of computed on each page load.
+ * Every venue with scheduled events is refreshed nightly. A venue is also refreshed shortly after new history
+ * is recorded for it or its schedule changes, and every venue is once the forecast rules or the served model
+ * change; changes are collected and applied together, so a burst of ingests costs one refresh.
+ * Occurrences are forecast in parallel chunks on the forecast pool and written in JDBC batches. A refresh
+ * updates the venue's existing rows in place, so their forecast ids stay valid for reporting actuals; rows
+ * whose outcome has been recorded are never changed, and rows of occurrences no longer scheduled are removed.
+ */
+@Service
+@Lazy(false)
+public class ForecastMaterializationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ForecastMaterializationService.class);
+
+    private final ScheduledEventRepository scheduledEventRepository;
+    private final FoodForecastRepository foodForecastRepository;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final FoodForecastService foodForecastService;
+    private final ExecutorService forecastExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    // Days ahead, today included, that forecasts are materialized for.
+    private final int horizonDays;
+    // Occurrences forecast per task and forecasts written per JDBC batch.
+    private final int batchSize;
+    // Venues whose history or schedule changed since their last refresh.
+    private final Set<String> changedVenues = ConcurrentHashMap.newKeySet();
+    // Serializes refreshes. A lock rather than synchronized, so a refresh on a virtual thread
+    // does not pin its carrier while it waits on the forecast pool and the database.
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public ForecastMaterializationService(ScheduledEventRepository scheduledEventRepository,
+                                          FoodForecastRepository foodForecastRepository,
+                                          BulkInsertRepository bulkInsertRepository,
+                                          FoodForecastService foodForecastService,
+                                          @Qualifier("forecastExecutor") ExecutorService forecastExecutor,
+                                          TransactionTemplate transactionTemplate,
+                                          @Value("${smartserve.forecast.materialization.enabled:true}") boolean enabled,
+                                          @Value("${smartserve.forecast.materialization.horizon-days:14}") int horizonDays,
+                                          @Value("${smartserve.forecast.materialization.batch-size:500}") int batchSize) {
+        this.scheduledEventRepository = scheduledEventRepository;
+        this.foodForecastRepository = foodForecastRepository;
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.foodForecastService = foodForecastService;
+        this.forecastExecutor = forecastExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.horizonDays = Math.max(1, horizonDays);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Result of refreshing one venue.
+     * @param venue The venue refreshed.
+     * @param occurrences Upcoming occurrences forecast.
+     * @param inserted Rows written for occurrences that had none.
+     * @param updated Existing rows refreshed in place.
+     * @param deleted Rows removed because their occurrence is no longer scheduled.
+     * @param millis Time the refresh took.
+     */
+    public record Result(String venue, int occurrences, int inserted, int updated, int deleted, long millis) {
+    }
+
+    /**
+     * Refreshes every venue with scheduled events, nightly.
+     */
+    @Scheduled(cron = "${smartserve.forecast.materialization.cron:0 30 2 * * *}")
+    public void materializeAll() {
+        if (!enabled) {
+            return;
+        }
+        for (String venue : scheduledEventRepository.findVenues()) {
+            changedVenues.remove(venue);
+            refreshQuietly(venue);
+        }
+    }
+
+    /**
+     * Refreshes the venues that changed since the last run.
+     */
+    @Scheduled(initialDelayString = "${smartserve.forecast.materialization.refresh-delay:PT1M}",
+            fixedDelayString = "${smartserve.forecast.materialization.refresh-delay:PT1M}")
+    public void materializeChanged() {
+        if (!enabled) {
+            return;
+        }
+        for (String venue : List.copyOf(changedVenues)) {
+            changedVenues.remove(venue);
+            refreshQuietly(venue);
+        }
+    }
+
+    /**
+     * Marks the venues of newly recorded history for refresh.
+     */
+    @EventListener
+    public void onHistoryRecorded(HistoryRecordedEvent event) {
+        changedVenues.addAll(event.venues());
+    }
+
+    /**
+     * Marks every venue for refresh once a rules reload changed a multiplier.
+     */
+    @EventListener
+    public void onRulesChanged(ForecastRulesChangedEvent event) {
+        markAllChanged();
+    }
+
+    /**
+     * Marks every venue for refresh once a different model version is served.
+     */
+    @EventListener
+    public void onModelChanged(ForecastModelChangedEvent event) {
+        markAllChanged();
+    }
+
+    /**
+     * Marks a venue for refresh, e.g. after its schedule changed.
+     * @param venue The venue.
+     */
+    public void markChanged(String venue) {
+        changedVenues.add(venue);
+    }
+
+    private void markAllChanged() {
+        if (enabled) {
+            changedVenues.addAll(scheduledEventRepository.findVenues());
+        }
+    }
+
+    /**
+     * Reads a venue's materialized forecasts for the coming days.
+     * @param venue The venue.
+     * @param days How many days, today included; at most the materialization horizon.
+     * @return The forecasts, soonest first.
+     */
+    public List<FoodForecastRepository.MaterializedForecast> upcoming(String venue, int days) {
+        if (days < 1 || days > horizonDays) {
+            throw new IllegalArgumentException("days must be between 1 and " + horizonDays);
+        }
+        LocalDate today = LocalDate.now();
+        return foodForecastRepository.findMaterialized(venue, today, today.plusDays(days - 1L));
+    }
+
+    /**
+     * Recomputes and stores the forecasts of a venue's scheduled events for the coming days.
+     * Refreshes are serialized, so the scheduled jobs and explicit refreshes never write the same rows at once;
+     * this waits for a refresh already running.
+     * @param venue The venue.
+     * @return What was written.
+     */
+    public Result materialize(String venue) {
+        refreshLock.lock();
+        try {
+            return refresh(venue);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Refreshes a venue now if no other refresh is running. Otherwise the venue is marked changed,
+     * so the next changed-venue run picks it up, and nothing waits.
+     * @param venue The venue.
+     * @return What was written, or empty if the refresh was deferred.
+     */
+    public Optional<Result> tryMaterialize(String venue) {
+        if (!refreshLock.tryLock()) {
+            changedVenues.add(venue);
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(refresh(venue));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Called with the refresh lock held.
+    private Result refresh(String venue) {
+        long start = System.nanoTime();
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(horizonDays - 1L);
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (ScheduledEvent event : scheduledEventRepository.findActive(venue, from, to)) {
+            for (LocalDate day : event.occurrences(from, to)) {
+                occurrences.add(new Occurrence(event, day));
+            }
+        }
+        // Existing rows by (event, day); whatever is left unmatched afterwards is no longer scheduled.
+        Map<OccurrenceKey, FoodForecastRepository.MaterializedForecast> existing = new HashMap<>();
+        for (FoodForecastRepository.MaterializedForecast row : foodForecastRepository.findMaterialized(venue, from, to)) {
+            existing.put(new OccurrenceKey(row.getScheduledEventId(), row.getDate()), row);
+        }
+
+        // Forecast chunks in parallel; write each chunk in order as it completes.
+        List<CompletableFuture<List<FoodForecast>>> chunks = new ArrayList<>();
+        for (int offset = 0; offset < occurrences.size(); offset += batchSize) {
+            List<Occurrence> chunk = occurrences.subList(offset, Math.min(occurrences.size(), offset + batchSize));
+            chunks.add(CompletableFuture.supplyAsync(() -> forecast(chunk), forecastExecutor));
+        }
+        int inserted = 0;
+        int updated = 0;
+        for (CompletableFuture<List<FoodForecast>> chunk : chunks) {
+            List<FoodForecast> inserts = new ArrayList<>();
+            List<FoodForecast> updates = new ArrayList<>();
+            for (FoodForecast forecast : chunk.join()) {
+                FoodForecastRepository.MaterializedForecast row =
+                        existing.remove(new OccurrenceKey(forecast.getScheduledEventId(), forecast.getDate()));
+                if (row == null) {
+                    inserts.add(forecast);
+                } else if (row.getFoodConsumed() == null) {
+                    forecast.setId(row.getForecastId());
+                    updates.add(forecast);
+                }
+            }
+            if (!inserts.isEmpty() || !updates.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    bulkInsertRepository.insertForecasts(inserts);
+                    bulkInsertRepository.updateForecasts(updates);
+                });
+            }
+            inserted += inserts.size();
+            updated += updates.size();
+        }
+        List<Long> stale = existing.values().stream()
+                .filter(row -> row.getFoodConsumed() == null)
+                .map(FoodForecastRepository.MaterializedForecast::getForecastId)
+                .toList();
+        if (!stale.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> foodForecastRepository.deleteAllByIdInBatch(stale));
+        }
+        return new Result(venue, occurrences.size(), inserted, updated, stale.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void refreshQuietly(String venue) {
+        try {
+            Result result = materialize(venue);
+            log.info("Materialized {} upcoming forecasts for venue {} ({} new, {} updated, {} removed) in {} ms",
+                    result.occurrences(), venue, result.inserted(), result.updated(), result.deleted(), result.millis());
+        } catch (RuntimeException e) {
+            // Try again on the next run rather than wait for the nightly one.
+            changedVenues.add(venue);
+            log.warn("Materializing forecasts for venue {} failed", venue, e);
+        }
+    }
+
+    // Runs on the forecast pool. Forecasts come from the same stored-history path as on-demand requests.
+    private List<FoodForecast> forecast(List<Occurrence> occurrences) {
+        Instant now = Instant.now();
+        List<FoodForecast> forecasts = new ArrayList<>(occurrences.size());
+        for (Occurrence occurrence : occurrences) {
+            ScheduledEvent event = occurrence.event();
+            ForecastResponse response = foodForecastService.predictFromStoredHistory(event.toEventDetails(occurrence.day()));
+            FoodForecast forecast = new FoodForecast();
+            forecast.setVenue(event.getVenue());
+            forecast.setItemName(event.getItemName());
+            forecast.setEventType(event.getEventType());
+            forecast.setAudienceProfile(event.getAudienceProfile());
+            forecast.setExpectedFootfall(event.getFootfall());
+            forecast.setQuantityRecommended(response.getPredictedFoodQuantity());
+            forecast.setDate(occurrence.day());
+            forecast.setScheduledEventId(event.getId());
+            forecast.setMaterializedAt(now);
+            forecasts.add(forecast);
+        }
+        return forecasts;
+    }
+
+    private record Occurrence(ScheduledEvent event, LocalDate day) {
+    }
+
+    private record OccurrenceKey(long scheduledEventId, LocalDate day) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.smartserve.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instruments for the forecast pipeline.
+ * Every meter is registered once up front, so recording is a call on a prebuilt, lock-free
+ * recorder: no registry lookup, tag construction or allocation per request. Stage timers
+ * publish percentile histograms so latency distributions can be aggregated in Prometheus.
+ */
+@Component
+public class ForecastMetrics {
+
+    private final Timer deserialization;
+    private final Timer aggregation;
+    private final Timer prediction;
+    private final Timer serialization;
+    private final DistributionSummary requestSize;
+    private final DistributionSummary responseSize;
+    private final DistributionSummary historySize;
+
+    public ForecastMetrics(MeterRegistry registry) {
+        this.deserialization = stageTimer(registry, "deserialization");
+        this.aggregation = stageTimer(registry, "aggregation");
+        this.prediction = stageTimer(registry, "prediction");
+        this.serialization = stageTimer(registry, "serialization");
+        this.requestSize = sizeSummary(registry, "forecast.request.size", "bytes", "Size of JSON request bodies");
+        this.responseSize = sizeSummary(registry, "forecast.response.size", "bytes", "Size of JSON response bodies");
+        this.historySize = sizeSummary(registry, "forecast.history.size", "items", "Historical items sent with a forecast request");
+    }
+
+    public void recordDeserialization(long startNanos, long bytes) {
+        deserialization.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (bytes >= 0) {
+            requestSize.record(bytes);
+        }
+    }
+
+    public void recordAggregation(long startNanos) {
+        aggregation.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPrediction(long startNanos) {
+        prediction.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSerialization(long startNanos, long bytes) {
+        serialization.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        responseSize.record(bytes);
+    }
+
+    public void recordHistorySize(int items) {
+        historySize.record(items);
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage) {
+        return Timer.builder("forecast.stage")
+                .description("Time spent in each stage of a forecast request")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static DistributionSummary sizeSummary(MeterRegistry registry, String name, String unit, String description) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(unit)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,8 @@
+package com.smartserve.service;
+
+/**
+ * Published when a different forecasting model version starts being served, after a training run or a rollback.
+ * @param version The model version now served.
+ */
+public record ForecastModelChangedEvent(long version) {
+}
@@ -0,0 +1,144 @@
+package com.smartserve.service;
+
+import com.smartserve.model.HistoricalRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * The {@link Forecaster} the application serves from: the currently published model plus the
+ * few versions before it, kept so a bad model can be rolled back.
+ * Forecasts read the published model through an atomic reference and never lock. New history is
+ * fed to every retained model, so a rollback target is as current as the model it replaces.
+ * While a model is being retrained, records that arrive are also buffered and replayed into the
+ * candidate before it is published, so nothing ingested during training is lost. Buffered records
+ * the training run also read from its snapshot are skipped by id, so none is learned twice.
+ */
+@Component
+public class ForecastModelRegistry implements Forecaster {
+
+    private final int retainedVersions;
+    private final AtomicReference<Version> current;
+    // Published versions still held in memory, oldest first. Guarded by this.
+    private final List<Version> retained = new ArrayList<>();
+    // Records seen while a training run is in progress, keyed by id; null when none is. Guarded by this.
+    private Map<Long, HistoricalRecord> pending;
+
+    public ForecastModelRegistry(Supplier<Forecaster> forecasterFactory,
+                                 @Value("${smartserve.forecast.model.retained-versions:3}") int retainedVersions) {
+        this.retainedVersions = Math.max(1, retainedVersions);
+        // Version 0 is an untrained model that learns from live history until the first training run publishes.
+        Version initial = new Version(0L, forecasterFactory.get());
+        this.current = new AtomicReference<>(initial);
+        this.retained.add(initial);
+    }
+
+    @Override
+    public double forecast(String venue, String itemName, String eventType, LocalDate date) {
+        return current.get().model().forecast(venue, itemName, eventType, date);
+    }
+
+    @Override
+    public long generation(String venue, String itemName, String eventType) {
+        return current.get().model().generation(venue, itemName, eventType);
+    }
+
+    @Override
+    public int seriesCount() {
+        return current.get().model().seriesCount();
+    }
+
+    @Override
+    public long version() {
+        return current.get().id();
+    }
+
+    @Override
+    public synchronized void observe(String venue, String itemName, String eventType, LocalDate date, double consumptionRate) {
+        for (Version version : retained) {
+            version.model().observe(venue, itemName, eventType, date, consumptionRate);
+        }
+    }
+
+    @Override
+    public synchronized void observe(HistoricalRecord record) {
+        for (Version version : retained) {
+            version.model().observe(record);
+        }
+        if (pending != null && record.getId() != null) {
+            pending.put(record.getId(), record);
+        }
+    }
+
+    /**
+     * Starts buffering incoming records for a training run. Call before reading the snapshot.
+     */
+    synchronized void beginTraining() {
+        pending = new LinkedHashMap<>();
+    }
+
+    /**
+     * Publishes a trained model: replays the records that arrived during training and were not in
+     * its snapshot into it, and swaps it in as the served model. Both happen under the lock that
+     * {@link #observe(HistoricalRecord)} takes, so every record reaches the new model exactly once.
+     * @param id The recorded version id.
+     * @param model The trained model.
+     * @param snapshotIds Ids of the records the model was trained on, sorted.
+     */
+    synchronized void publish(long id, Forecaster model, long[] snapshotIds) {
+        if (pending != null) {
+            for (HistoricalRecord record : pending.values()) {
+                if (Arrays.binarySearch(snapshotIds, record.getId()) < 0) {
+                    model.observe(record);
+                }
+            }
+        }
+        endTraining();
+        Version version = new Version(id, model);
+        retained.add(version);
+        while (retained.size() > retainedVersions) {
+            retained.remove(0);
+        }
+        current.set(version);
+    }
+
+    /**
+     * Stops buffering without publishing, e.g. when the candidate failed validation.
+     */
+    synchronized void endTraining() {
+        pending = null;
+    }
+
+    /**
+     * Serves a previously published version again.
+     * @param id The version to restore.
+     * @return Whether the version was still held in memory.
+     */
+    synchronized boolean rollback(long id) {
+        for (Version version : retained) {
+            if (version.id() == id) {
+                current.set(version);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Ids of the versions that can be rolled back to, oldest first.
+     */
+    public synchronized List<Long> retainedVersions() {
+        return retained.stream().map(Version::id).toList();
+    }
+
+    private record Version(long id, Forecaster model) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.smartserve.service;
+
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.ModelVersion;
+import com.smartserve.repository.HistoricalRecordRepository;
+import com.smartserve.repository.ModelVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Retrains the forecasting model in the background and publishes it through the {@link ForecastModelRegistry}.
+ * A run streams a snapshot of stored history in date order into a fresh model on the training pool.
+ * Points in the trailing holdout window are first forecast one step ahead and scored against the
+ * plain per-series average; the candidate is published only if it does no worse, the first run
+ * included, and every run is recorded as a {@link ModelVersion}. Forecast requests keep reading the previous model throughout.
+ * Publishing or rolling back a version publishes a {@link ForecastModelChangedEvent}.
+ */
+@Component
+@Lazy(false)
+public class ForecastModelTrainer {
+
+    private static final Logger log = LoggerFactory.getLogger(ForecastModelTrainer.class);
+
+    private final HistoricalRecordRepository historicalRecordRepository;
+    private final ModelVersionRepository modelVersionRepository;
+    private final ForecastModelRegistry registry;
+    private final Supplier<Forecaster> forecasterFactory;
+    private final ExecutorService modelTrainingExecutor;
+    private final TransactionTemplate snapshotTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    // Length of the trailing window the candidate is validated on.
+    private final int holdoutDays;
+    // Holdout points needed before validation is applied; with fewer the candidate is published as is.
+    private final int minHoldoutPoints;
+    // How much worse than the baseline the candidate may score and still be published.
+    private final double tolerance;
+
+    public ForecastModelTrainer(HistoricalRecordRepository historicalRecordRepository,
+                                ModelVersionRepository modelVersionRepository,
+                                ForecastModelRegistry registry,
+                                Supplier<Forecaster> forecasterFactory,
+                                @Qualifier("modelTrainingExecutor") ExecutorService modelTrainingExecutor,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${smartserve.forecast.model.holdout-days:28}") int holdoutDays,
+                                @Value("${smartserve.forecast.model.min-holdout-points:30}") int minHoldoutPoints,
+                                @Value("${smartserve.forecast.model.tolerance:0.05}") double tolerance) {
+        this.historicalRecordRepository = historicalRecordRepository;
+        this.modelVersionRepository = modelVersionRepository;
+        this.registry = registry;
+        this.forecasterFactory = forecasterFactory;
+        this.modelTrainingExecutor = modelTrainingExecutor;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.holdoutDays = holdoutDays;
+        this.minHoldoutPoints = minHoldoutPoints;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Requests a training run on the schedule, starting at startup.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${smartserve.forecast.model.retrain-interval:PT6H}")
+    public void scheduledRetrain() {
+        if (!retrain()) {
+            log.info("Skipping scheduled model training: a run is already in progress");
+        }
+    }
+
+    /**
+     * Starts a training run on the training pool.
+     * @return False if a run is already in progress.
+     */
+    public boolean retrain() {
+        try {
+            modelTrainingExecutor.execute(this::train);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Serves a previously published version again.
+     * @param versionId The version to restore.
+     * @return False if the version is no longer held in memory.
+     */
+    @Transactional
+    public boolean rollback(long versionId) {
+        if (!registry.rollback(versionId)) {
+            return false;
+        }
+        modelVersionRepository.activate(versionId);
+        log.info("Rolled forecasting model back to version {}", versionId);
+        eventPublisher.publishEvent(new ForecastModelChangedEvent(versionId));
+        return true;
+    }
+
+    /**
+     * @return The most recent training runs, newest first.
+     */
+    public List<ModelVersion> versions() {
+        return modelVersionRepository.findTop50ByOrderByIdDesc();
+    }
+
+    private void train() {
+        long start = System.nanoTime();
+        LocalDate holdoutFrom = LocalDate.now().minusDays(holdoutDays);
+        ModelVersion version = new ModelVersion();
+        version.setAlgorithm("holt-winters");
+        version.setHoldoutFrom(holdoutFrom);
+        registry.beginTraining();
+        try {
+            Forecaster candidate = forecasterFactory.get();
+            Score score = snapshotTransaction.execute(status -> fit(candidate, holdoutFrom));
+            version.setObservations(score.observations);
+            version.setSeriesCount(candidate.seriesCount());
+            version.setHoldoutPoints(score.points);
+            if (score.points > 0) {
+                version.setHoldoutMae(score.candidateError / score.points);
+                version.setBaselineMae(score.baselineError / score.points);
+            }
+            boolean accepted = score.points < minHoldoutPoints
+                    || score.candidateError <= score.baselineError * (1 + tolerance);
+            version.setStatus(accepted ? ModelVersion.Status.PUBLISHED : ModelVersion.Status.REJECTED);
+            version.setActive(accepted);
+            finish(version, start);
+            if (accepted) {
+                registry.publish(version.getId(), candidate, score.sortedIds());
+                modelVersionRepository.activate(version.getId());
+                eventPublisher.publishEvent(new ForecastModelChangedEvent(version.getId()));
+            } else {
+                registry.endTraining();
+            }
+            log.info("Trained forecasting model version {} on {} observations: {} (holdout MAE {}, baseline {})",
+                    version.getId(), score.observations, version.getStatus(), version.getHoldoutMae(), version.getBaselineMae());
+        } catch (RuntimeException e) {
+            registry.endTraining();
+            version.setStatus(ModelVersion.Status.FAILED);
+            finish(version, start);
+            log.warn("Forecasting model training failed", e);
+        }
+    }
+
+    // Streams the snapshot into the candidate, scoring holdout points before they are learned.
+    private Score fit(Forecaster candidate, LocalDate holdoutFrom) {
+        Score score = new Score();
+        // Running consumption-rate mean per (venue, item, event type): the baseline the candidate has to beat.
+        Map<List<String>, double[]> means = new HashMap<>();
+        try (Stream<HistoricalRecordRepository.Observation> observations = historicalRecordRepository.streamObservations()) {
+            for (HistoricalRecordRepository.Observation observation : (Iterable<HistoricalRecordRepository.Observation>) observations::iterator) {
+                score.addId(observation.getId());
+                String venue = observation.getVenue() != null ? observation.getVenue() : HistoricalRecord.DEFAULT_VENUE;
+                String itemName = observation.getItemName() != null ? observation.getItemName() : Forecaster.ALL_ITEMS;
+                double actual = observation.getConsumptionRate();
+                double[] mean = means.computeIfAbsent(List.of(venue, itemName, observation.getEventType()), key -> new double[2]);
+                if (!observation.getDate().isBefore(holdoutFrom) && mean[0] > 0) {
+                    double baseline = mean[1];
+                    double predicted = candidate.forecast(venue, itemName, observation.getEventType(), observation.getDate());
+                    // A series too short to model is served from the average, so score it that way.
+                    if (Double.isNaN(predicted)) {
+                        predicted = baseline;
+                    }
+                    score.candidateError += Math.abs(predicted - actual);
+                    score.baselineError += Math.abs(baseline - actual);
+                    score.points++;
+                }
+                candidate.observe(venue, itemName, observation.getEventType(), observation.getDate(), actual);
+                mean[0]++;
+                mean[1] += (actual - mean[1]) / mean[0];
+                score.observations++;
+            }
+        }
+        return score;
+    }
+
+    private void finish(ModelVersion version, long start) {
+        version.setTrainedAt(Instant.now());
+        version.setTrainingMillis((System.nanoTime() - start) / 1_000_000);
+        modelVersionRepository.save(version);
+    }
+
+    private static final class Score {
+        long observations;
+        long points;
+        double candidateError;
+        double baselineError;
+        // Ids of the snapshot's records, 8 bytes each, so the registry can skip them when replaying.
+        long[] ids = new long[1024];
+        int idCount;
+
+        void addId(long id) {
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[idCount++] = id;
+        }
+
+        long[] sortedIds() {
+            long[] sorted = Arrays.copyOf(ids, idCount);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.smartserve.service;
+
+/**
+ * Published when a reload has changed a forecast multiplier and the new rule set is in force.
+ * @param version The version of the new rule set.
+ */
+public record ForecastRulesChangedEvent(long version) {
+}
@@ -0,0 +1,105 @@
+package com.smartserve.service;
+
+import com.smartserve.config.ForecastRulesProperties;
+import com.smartserve.model.CategoryDictionary;
+import com.smartserve.model.ForecastRule;
+import com.smartserve.repository.ForecastRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Loads the forecast multipliers from configuration and the database and compiles them
+ * into a {@link CompiledForecastRules} table. Reloads build a new table and publish it with
+ * a single volatile write, so readers never take a lock and always see a complete rule set.
+ */
+@Service
+@Lazy(false)
+public class ForecastRulesEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ForecastRulesEngine.class);
+
+    private final ForecastRulesProperties properties;
+    private final ForecastRuleRepository forecastRuleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    // The rule set used by forecasts; replaced wholesale on reload.
+    private volatile CompiledForecastRules current;
+    // Serializes reloads. Not a monitor: a reload queries the database, which would pin a virtual thread.
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public ForecastRulesEngine(ForecastRulesProperties properties, ForecastRuleRepository forecastRuleRepository,
+                               ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.forecastRuleRepository = forecastRuleRepository;
+        this.eventPublisher = eventPublisher;
+        this.current = compile(0, properties.getEventTypes(), properties.getAudienceProfiles());
+    }
+
+    /**
+     * @return The rule set currently in force.
+     */
+    public CompiledForecastRules current() {
+        return current;
+    }
+
+    /**
+     * Rebuilds the rule set from configuration plus database overrides and publishes it.
+     * Runs periodically and can be triggered on demand; reloads are serialized with each other
+     * but never block forecasts. A reload that changes no multiplier keeps the current rule set and
+     * its version, so cached forecasts and ETags keyed on the version stay valid; otherwise a
+     * {@link ForecastRulesChangedEvent} is published.
+     *
+     * @return The rule set in force after the reload.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${smartserve.forecast.rules.reload-interval:PT5M}")
+    public CompiledForecastRules reload() {
+        reloadLock.lock();
+        try {
+            Map<String, Double> eventTypes = new LinkedHashMap<>(properties.getEventTypes());
+            Map<String, Double> audienceProfiles = new LinkedHashMap<>(properties.getAudienceProfiles());
+            for (ForecastRule rule : forecastRuleRepository.findAll()) {
+                if (rule.getKind() == ForecastRule.Kind.EVENT_TYPE) {
+                    eventTypes.put(rule.getName(), rule.getMultiplier());
+                } else {
+                    audienceProfiles.put(rule.getName(), rule.getMultiplier());
+                }
+            }
+            CompiledForecastRules compiled = compile(current.version() + 1, eventTypes, audienceProfiles);
+            if (compiled.sameMultipliers(current)) {
+                return current;
+            }
+            current = compiled;
+            log.debug("Forecast rules v{} loaded: {} event types, {} audience profiles",
+                    compiled.version(), eventTypes.size(), audienceProfiles.size());
+            eventPublisher.publishEvent(new ForecastRulesChangedEvent(compiled.version()));
+            return compiled;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private CompiledForecastRules compile(long version, Map<String, Double> eventTypes, Map<String, Double> audienceProfiles) {
+        return new CompiledForecastRules(
+                version,
+                properties.getBaseMultiplier(),
+                toTable(CategoryDictionary.EVENT_TYPES, eventTypes),
+                toTable(CategoryDictionary.AUDIENCE_PROFILES, audienceProfiles));
+    }
+
+    // Registers every name and lays the multipliers out by id.
+    private static double[] toTable(CategoryDictionary dictionary, Map<String, Double> multipliers) {
+        multipliers.keySet().forEach(dictionary::register);
+        double[] table = new double[dictionary.size()];
+        Arrays.fill(table, 1.0);
+        multipliers.forEach((name, multiplier) -> table[dictionary.lookup(name)] = multiplier);
+        return table;
+    }
+}
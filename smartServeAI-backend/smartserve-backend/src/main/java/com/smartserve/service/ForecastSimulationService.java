@@ -0,0 +1,222 @@
+package com.smartserve.service;
+
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.ForecastSimulation;
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.HistoryColumns;
+import com.smartserve.model.SimulationQuantile;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service class responsible for Monte Carlo simulation of an event's food demand.
+ * Each trial draws an attendance (normal around the expected footfall, rounded and floored at
+ * zero) and a consumption rate (log-normal with the mean and spread fitted from history), and
+ * applies the same rule multipliers as the point forecast. Trials run in chunks on the bounded
+ * forecast executor; every chunk has its own {@link SplittableRandom} split from one seed, so a
+ * seeded simulation is reproducible, and writes into its slice of one primitive array, so the
+ * sampling loop allocates nothing. The sorted samples give the P10/P50/P90 quantities and what
+ * preparing each would be expected to waste or fall short by.
+ */
+@Service
+public class ForecastSimulationService {
+
+    private static final int[] PERCENTILES = {10, 50, 90};
+    // Trials per parallel task; smaller simulations run on the calling thread alone.
+    private static final int CHUNK_SIZE = 8192;
+
+    private final FoodForecastService foodForecastService;
+    private final HistoricalDataService historicalDataService;
+    private final Forecaster forecaster;
+    private final ExecutorService forecastExecutor;
+    private final ForecastMetrics forecastMetrics;
+    // Spreads assumed when history cannot provide them.
+    private final double defaultFootfallCv;
+    private final double defaultConsumptionRateCv;
+
+    public ForecastSimulationService(FoodForecastService foodForecastService,
+                                     HistoricalDataService historicalDataService,
+                                     Forecaster forecaster,
+                                     @Qualifier("forecastExecutor") ExecutorService forecastExecutor,
+                                     ForecastMetrics forecastMetrics,
+                                     @Value("${smartserve.forecast.simulation.default-footfall-cv:0.15}") double defaultFootfallCv,
+                                     @Value("${smartserve.forecast.simulation.default-consumption-rate-cv:0.2}") double defaultConsumptionRateCv) {
+        this.foodForecastService = foodForecastService;
+        this.historicalDataService = historicalDataService;
+        this.forecaster = forecaster;
+        this.forecastExecutor = forecastExecutor;
+        this.forecastMetrics = forecastMetrics;
+        this.defaultFootfallCv = defaultFootfallCv;
+        this.defaultConsumptionRateCv = defaultConsumptionRateCv;
+    }
+
+    /**
+     * Simulates an event's demand.
+     * The consumption rate is fitted from history sent with the request (rows or columns) or,
+     * without it, centred on the stored model forecast with the spread of the stored history.
+     * The footfall spread is the given one, else the spread of footfall in the request history,
+     * else the configured default.
+     *
+     * @param eventDetails The event to simulate.
+     * @param historicalData History sent with the request, or null.
+     * @param historyColumns Columnar history sent with the request, or null.
+     * @param trials Number of trials.
+     * @param footfallCv Coefficient of variation of attendance, or null to fit or default it.
+     * @param seed Seed for a reproducible simulation, or null for a random one.
+     * @return The fitted inputs and the simulated demand percentiles.
+     */
+    public ForecastSimulation simulate(EventDetails eventDetails, List<HistoricalDataItem> historicalData,
+                                       HistoryColumns historyColumns, int trials, Double footfallCv, Long seed) {
+        long start = System.nanoTime();
+        ConsumptionStats.Summary rates;
+        ConsumptionStats.Summary footfalls = ConsumptionStats.Summary.EMPTY;
+        double rateMean;
+        if (historicalData != null || historyColumns != null) {
+            ConsumptionStats.Summary[] fitted = historicalData != null ? fit(historicalData) : fit(historyColumns);
+            rates = fitted[0];
+            footfalls = fitted[1];
+            rateMean = rates.count() > 0 ? rates.mean() : 1.0;
+        } else {
+            String venue = eventDetails.getVenue() != null ? eventDetails.getVenue() : HistoricalRecord.DEFAULT_VENUE;
+            LocalDate eventDate = eventDetails.getLocalDate() != null ? eventDetails.getLocalDate() : LocalDate.now();
+            rates = historicalDataService.consumptionSummary(
+                    venue, eventDetails.getEventType(), eventDetails.getAudienceProfile(), eventDate).summary();
+            rateMean = forecaster.forecast(venue, eventDetails.getItemName(), eventDetails.getEventType(), eventDate);
+            if (Double.isNaN(rateMean)) {
+                rateMean = rates.count() > 0 ? rates.mean() : 1.0;
+            }
+        }
+        double rateCv = coefficientOfVariation(rates, defaultConsumptionRateCv);
+        double attendanceCv = footfallCv != null ? footfallCv : coefficientOfVariation(footfalls, defaultFootfallCv);
+        forecastMetrics.recordAggregation(start);
+
+        start = System.nanoTime();
+        double[] samples = sample(eventDetails, trials, rateMean, rateCv, attendanceCv,
+                seed != null ? seed : ThreadLocalRandom.current().nextLong());
+        Arrays.sort(samples);
+        ForecastSimulation simulation = summarize(samples, rateMean, rateCv, attendanceCv);
+        forecastMetrics.recordPrediction(start);
+        return simulation;
+    }
+
+    // Runs the trials in chunks on the forecast executor, the last chunk on the calling thread.
+    private double[] sample(EventDetails eventDetails, int trials, double rateMean, double rateCv, double footfallCv, long seed) {
+        // Rule multipliers are linear in footfall, so one attendee's base scales to any attendance.
+        double basePerAttendee = foodForecastService.eventBaseForecast(
+                eventDetails.getEventTypeId(), eventDetails.getAudienceProfileId(), 1);
+        double footfall = eventDetails.getFootfall();
+        double footfallSd = footfall * footfallCv;
+        // Log-normal with the fitted mean and coefficient of variation.
+        double rateSigma = Math.sqrt(Math.log1p(rateCv * rateCv));
+        double rateMu = Math.log(Math.max(rateMean, 1e-9)) - rateSigma * rateSigma / 2;
+
+        double[] samples = new double[trials];
+        SplittableRandom root = new SplittableRandom(seed);
+        int chunks = (trials + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[chunks - 1];
+        for (int chunk = 0; chunk < chunks - 1; chunk++) {
+            int from = chunk * CHUNK_SIZE;
+            SplittableRandom random = root.split();
+            tasks[chunk] = CompletableFuture.runAsync(() -> sampleRange(samples, from, from + CHUNK_SIZE, random,
+                    basePerAttendee, footfall, footfallSd, rateMu, rateSigma), forecastExecutor);
+        }
+        sampleRange(samples, (chunks - 1) * CHUNK_SIZE, trials, root.split(), basePerAttendee, footfall, footfallSd, rateMu, rateSigma);
+        CompletableFuture.allOf(tasks).join();
+        return samples;
+    }
+
+    static void sampleRange(double[] samples, int from, int to, SplittableRandom random, double basePerAttendee,
+                            double footfall, double footfallSd, double rateMu, double rateSigma) {
+        for (int i = from; i < to; i++) {
+            double attendees = Math.max(0.0, Math.rint(footfall + footfallSd * random.nextGaussian()));
+            double rate = Math.exp(rateMu + rateSigma * random.nextGaussian());
+            samples[i] = basePerAttendee * attendees * rate;
+        }
+    }
+
+    // Percentiles by nearest rank, and the mean leftover and shortfall of preparing each, in one pass.
+    static ForecastSimulation summarize(double[] sorted, double rateMean, double rateCv, double footfallCv) {
+        int n = sorted.length;
+        double[] planned = new double[PERCENTILES.length];
+        for (int p = 0; p < PERCENTILES.length; p++) {
+            int rank = (int) Math.ceil(PERCENTILES[p] / 100.0 * n) - 1;
+            planned[p] = Math.rint(sorted[Math.max(0, rank)]);
+        }
+        double[] waste = new double[PERCENTILES.length];
+        double[] shortfall = new double[PERCENTILES.length];
+        double sum = 0.0;
+        for (double demand : sorted) {
+            sum += demand;
+            for (int p = 0; p < PERCENTILES.length; p++) {
+                double difference = planned[p] - demand;
+                if (difference > 0) {
+                    waste[p] += difference;
+                } else {
+                    shortfall[p] -= difference;
+                }
+            }
+        }
+        List<SimulationQuantile> quantiles = new ArrayList<>(PERCENTILES.length);
+        for (int p = 0; p < PERCENTILES.length; p++) {
+            quantiles.add(new SimulationQuantile(PERCENTILES[p], (int) planned[p], waste[p] / n, shortfall[p] / n));
+        }
+        return new ForecastSimulation(n, rateMean, rateCv, footfallCv, sum / n, quantiles);
+    }
+
+    // Consumption rate and footfall summaries of request history, skipping events without footfall.
+    private static ConsumptionStats.Summary[] fit(List<HistoricalDataItem> history) {
+        long count = 0;
+        double rateSum = 0.0, rateSquares = 0.0, footfallSum = 0.0, footfallSquares = 0.0;
+        for (HistoricalDataItem item : history) {
+            if (item.getFootfall() > 0) {
+                double rate = (double) item.getFoodConsumed() / item.getFootfall();
+                count++;
+                rateSum += rate;
+                rateSquares += rate * rate;
+                footfallSum += item.getFootfall();
+                footfallSquares += (double) item.getFootfall() * item.getFootfall();
+            }
+        }
+        return new ConsumptionStats.Summary[]{
+                ConsumptionStats.Summary.fromSums(count, rateSum, rateSquares),
+                ConsumptionStats.Summary.fromSums(count, footfallSum, footfallSquares)};
+    }
+
+    private static ConsumptionStats.Summary[] fit(HistoryColumns history) {
+        int[] footfall = history.getFootfall();
+        int[] consumed = history.getFoodConsumed();
+        long count = 0;
+        double rateSum = 0.0, rateSquares = 0.0, footfallSum = 0.0, footfallSquares = 0.0;
+        for (int i = 0; i < footfall.length; i++) {
+            if (footfall[i] > 0) {
+                double rate = (double) consumed[i] / footfall[i];
+                count++;
+                rateSum += rate;
+                rateSquares += rate * rate;
+                footfallSum += footfall[i];
+                footfallSquares += (double) footfall[i] * footfall[i];
+            }
+        }
+        return new ConsumptionStats.Summary[]{
+                ConsumptionStats.Summary.fromSums(count, rateSum, rateSquares),
+                ConsumptionStats.Summary.fromSums(count, footfallSum, footfallSquares)};
+    }
+
+    private static double coefficientOfVariation(ConsumptionStats.Summary summary, double fallback) {
+        if (summary.count() < 2 || summary.mean() <= 0) {
+            return fallback;
+        }
+        return Math.sqrt(summary.variance()) / summary.mean();
+    }
+}
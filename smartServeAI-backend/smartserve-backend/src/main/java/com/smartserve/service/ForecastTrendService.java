@@ -0,0 +1,82 @@
+package com.smartserve.service;
+
+import com.smartserve.model.WeeklyForecastTotal;
+import com.smartserve.repository.FoodForecastRepository;
+import com.smartserve.repository.FoodForecastRepository.DailyTotal;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads forecast trends for an item of one venue.
+ * Totals are aggregated by the database over the (venue, itemName, date) index, so a query reads
+ * only the venue's own rows; no entities are loaded. Weekly totals are rolled up from the daily
+ * ones, which keeps the query free of database-specific date functions.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ForecastTrendService {
+
+    // Longest window a single trend query may cover.
+    static final int MAX_DAYS = 3660;
+
+    private final FoodForecastRepository foodForecastRepository;
+
+    public ForecastTrendService(FoodForecastRepository foodForecastRepository) {
+        this.foodForecastRepository = foodForecastRepository;
+    }
+
+    /**
+     * Daily totals for a venue's item between two dates, both inclusive.
+     */
+    public List<DailyTotal> daily(String venue, String itemName, LocalDate from, LocalDate to) {
+        checkWindow(from, to);
+        return foodForecastRepository.sumByItemAndDay(venue, itemName, from, to);
+    }
+
+    /**
+     * Daily totals for a venue's item over the last {@code days} days, today included.
+     */
+    public List<DailyTotal> lastDays(String venue, String itemName, int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_DAYS);
+        }
+        return foodForecastRepository.sumByItemForLastDays(venue, itemName, days);
+    }
+
+    /**
+     * Weekly totals for a venue's item between two dates, both inclusive. Weeks start on Monday.
+     */
+    public List<WeeklyForecastTotal> weekly(String venue, String itemName, LocalDate from, LocalDate to) {
+        checkWindow(from, to);
+        List<WeeklyForecastTotal> weeks = new ArrayList<>();
+        WeeklyForecastTotal week = null;
+        // Days arrive oldest first, so each week's days are contiguous.
+        for (DailyTotal day : foodForecastRepository.sumByItemAndDay(venue, itemName, from, to)) {
+            LocalDate weekStart = day.getDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            if (week == null || !week.getWeekStart().equals(weekStart)) {
+                week = new WeeklyForecastTotal(weekStart, 0, 0, 0);
+                weeks.add(week);
+            }
+            week.setQuantity(week.getQuantity() + day.getQuantity());
+            week.setFootfall(week.getFootfall() + day.getFootfall());
+            week.setForecasts(week.getForecasts() + day.getForecasts());
+        }
+        return weeks;
+    }
+
+    private static void checkWindow(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException("window must not exceed " + MAX_DAYS + " days");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartserve.service;
+
+import com.smartserve.model.HistoricalRecord;
+
+import java.time.LocalDate;
+
+/**
+ * A time-series model of food consumed per attendee, kept per (venue, item, event type) series.
+ * Each venue's series are learned from that venue's history only.
+ * Implementations learn incrementally: each observation updates the model in place, so
+ * new history is reflected without refitting.
+ */
+public interface Forecaster {
+
+    // Item key used for history and forecasts that cover the whole menu.
+    String ALL_ITEMS = "*";
+
+    /**
+     * Folds one observation into its series.
+     * @param venue The venue the event took place at.
+     * @param itemName The menu item, or null for the whole menu.
+     * @param eventType The event type.
+     * @param date The day the value was observed.
+     * @param consumptionRate Food consumed per attendee.
+     */
+    void observe(String venue, String itemName, String eventType, LocalDate date, double consumptionRate);
+
+    /**
+     * Forecasts the consumption rate of a series on a given day.
+     * @param venue The venue to forecast for.
+     * @param itemName The menu item, or null for the whole menu.
+     * @param eventType The event type.
+     * @param date The day to forecast.
+     * @return Food consumed per attendee, or NaN if the series has too little history.
+     */
+    double forecast(String venue, String itemName, String eventType, LocalDate date);
+
+    /**
+     * @return The number of observations folded into a series so far; it changes whenever the series is updated.
+     */
+    long generation(String venue, String itemName, String eventType);
+
+    /**
+     * @return The number of series the model holds, across all venues.
+     */
+    int seriesCount();
+
+    /**
+     * @return Identifies the trained model being served; changes whenever a different model is published.
+     */
+    default long version() {
+        return 0L;
+    }
+
+    /**
+     * Folds a stored historical event into the model. Events without footfall carry no
+     * consumption rate and are ignored.
+     * @param record The stored historical event.
+     */
+    default void observe(HistoricalRecord record) {
+        if (record.getFootfall() > 0) {
+            observe(record.getVenue(), record.getItemName(), record.getEventType(), record.getDate(),
+                    (double) record.getFoodConsumed() / record.getFootfall());
+        }
+    }
+}
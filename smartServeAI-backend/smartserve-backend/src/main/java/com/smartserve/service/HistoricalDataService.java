@@ -0,0 +1,89 @@
+package com.smartserve.service;
+
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.model.HistoricalRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service class responsible for the server-side historical data store.
+ * History is ingested once and then summarized by venue, event type and date window
+ * when a forecast request does not carry its own history.
+ */
+@Service
+public class HistoricalDataService {
+
+    private final ConsumptionAggregateStore consumptionAggregateStore;
+    private final WriteBehindQueue<HistoricalRecord> historyWriteBehind;
+    // How many days before the event date are considered when reading stored history.
+    private final int windowDays;
+
+    public HistoricalDataService(ConsumptionAggregateStore consumptionAggregateStore,
+                                 WriteBehindQueue<HistoricalRecord> historyWriteBehind,
+                                 @Value("${smartserve.history.window-days:365}") int windowDays) {
+        this.consumptionAggregateStore = consumptionAggregateStore;
+        this.historyWriteBehind = historyWriteBehind;
+        this.windowDays = windowDays;
+    }
+
+    /**
+     * Queues a batch of historical events for a venue on the history write-behind queue.
+     * The records are written in batches off the calling thread; the consumption aggregates
+     * are updated once their batch commits, so a failed write leaves them untouched.
+     *
+     * @param venue The venue the events belong to.
+     * @param items The historical data items to store.
+     * @return A future completing with the number of records saved once they are committed.
+     */
+    public CompletableFuture<Integer> ingest(String venue, List<HistoricalDataItem> items) {
+        List<HistoricalRecord> records = items.stream()
+                .map(item -> HistoricalRecord.from(venue, item))
+                .toList();
+        return historyWriteBehind.submitAll(records).thenApply(done -> records.size());
+    }
+
+    /**
+     * Looks up the precomputed consumption statistics relevant to an event: same venue and
+     * event type, within the configured window ending the day before the event. Falls back to
+     * all audiences of the event type when there is no history for the exact audience.
+     *
+     * @param venue The venue of the event.
+     * @param eventType The type of the event.
+     * @param audienceProfile The audience profile of the event.
+     * @param eventDate The date of the event.
+     * @return The consumption-rate summary, empty when no history matches, with the generation
+     * of the series it came from.
+     */
+    public ConsumptionAggregateStore.Lookup consumptionSummary(String venue, String eventType, String audienceProfile, LocalDate eventDate) {
+        return consumptionAggregateStore.summaryWithFallback(
+                venue, eventType, audienceProfile, eventDate.minusDays(windowDays), eventDate.minusDays(1));
+    }
+
+    /**
+     * Tells whether the series behind an earlier {@link #consumptionSummary} lookup has changed.
+     *
+     * @param venue The venue of the event.
+     * @param eventType The type of the event.
+     * @param lookup The earlier lookup.
+     * @return True if history has been recorded for that series since the lookup.
+     */
+    public boolean isStale(String venue, String eventType, ConsumptionAggregateStore.Lookup lookup) {
+        return consumptionAggregateStore.generation(venue, eventType, lookup.audienceProfile()) != lookup.generation();
+    }
+
+    /**
+     * Returns a number that changes whenever history is recorded for an event type at a venue,
+     * for any audience. Cheap enough to read on every request.
+     *
+     * @param venue The venue of the event.
+     * @param eventType The type of the event.
+     * @return The current generation of the venue's event type history.
+     */
+    public long historyGeneration(String venue, String eventType) {
+        return consumptionAggregateStore.generation(venue, eventType, ConsumptionAggregateStore.ANY_AUDIENCE);
+    }
+}
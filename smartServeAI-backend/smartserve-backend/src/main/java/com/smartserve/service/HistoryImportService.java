@@ -0,0 +1,256 @@
+package com.smartserve.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.ImportCheckpoint;
+import com.smartserve.model.ImportReport;
+import com.smartserve.repository.BulkInsertRepository;
+import com.smartserve.repository.ImportCheckpointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Service class responsible for bulk-loading historical data from CSV or NDJSON streams.
+ * Input is read one line at a time and written through the JDBC bulk insert path, so memory use does not
+ * depend on the size of the input. Progress is checkpointed with every batch; re-running an
+ * import with the same id skips the rows an earlier, interrupted run already committed.
+ * Each batch locks the checkpoint row and is only written if no other run has advanced the
+ * checkpoint since, so two runs of the same import at once cannot both write a batch.
+ */
+@Service
+public class HistoryImportService {
+
+    /**
+     * Supported input formats.
+     */
+    public enum Format {
+        // Comma-separated values with a header row naming the HistoricalDataItem fields;
+        // the itemName column is optional.
+        CSV,
+        // One HistoricalDataItem JSON object per line.
+        NDJSON
+    }
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("date", "eventType", "audienceProfile", "footfall", "foodPrepared", "foodConsumed");
+    private static final String CSV_ITEM_COLUMN = "itemName";
+    // How many validation errors are reported back in detail.
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final BulkInsertRepository bulkInsertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final CommittedHistoryHandler committedHistoryHandler;
+    private final ObjectReader itemReader;
+    // Rows written per JDBC batch and checkpoint.
+    private final int batchSize;
+
+    public HistoryImportService(BulkInsertRepository bulkInsertRepository,
+                                TransactionTemplate transactionTemplate,
+                                ImportCheckpointRepository importCheckpointRepository,
+                                CommittedHistoryHandler committedHistoryHandler,
+                                ObjectMapper objectMapper,
+                                @Value("${smartserve.import.batch-size:1000}") int batchSize) {
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.importCheckpointRepository = importCheckpointRepository;
+        this.committedHistoryHandler = committedHistoryHandler;
+        this.itemReader = objectMapper.readerFor(HistoricalDataItem.class);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports historical data for a venue from a stream.
+     *
+     * @param venue The venue the history belongs to.
+     * @param input The CSV or NDJSON data; it is read to the end but not closed.
+     * @param format The input format.
+     * @param importId Identifier of this import; reuse it to resume an interrupted import.
+     * @return Counts, throughput and the first validation errors of this run.
+     * @throws IOException If the input cannot be read.
+     * @throws ConcurrencyFailureException If another run of the same import is in progress; the batches this run
+     * committed before noticing stay recorded in the checkpoint.
+     */
+    public ImportReport importHistory(String venue, InputStream input, Format format, String importId) throws IOException {
+        long start = System.nanoTime();
+        ImportCheckpoint checkpoint = checkpoint(importId, venue);
+        if (!venue.equals(checkpoint.getVenue())) {
+            throw new IllegalArgumentException("Import " + importId + " belongs to venue " + checkpoint.getVenue());
+        }
+        long alreadyProcessed = checkpoint.getRowsProcessed();
+        long acceptedBefore = checkpoint.getAccepted();
+        long rejectedBefore = checkpoint.getRejected();
+        List<String> errors = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        int lineNumber = 0;
+        int[] columns = null;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            columns = header != null ? csvColumns(header) : null;
+        }
+
+        List<HistoricalRecord> batch = new ArrayList<>(batchSize);
+        int batchRejected = 0;
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            if (row <= alreadyProcessed) {
+                continue;
+            }
+            try {
+                HistoricalDataItem item = format == Format.CSV ? parseCsv(line, columns) : itemReader.readValue(line);
+                batch.add(HistoricalRecord.from(venue, item));
+            } catch (IllegalArgumentException | DateTimeParseException | JsonProcessingException e) {
+                batchRejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("line " + lineNumber + ": " + describe(e));
+                }
+            }
+            if (batch.size() + batchRejected >= batchSize) {
+                flush(checkpoint, row, batch, batchRejected);
+                batch.clear();
+                batchRejected = 0;
+            }
+        }
+        flush(checkpoint, row, batch, batchRejected);
+
+        long elapsedNanos = System.nanoTime() - start;
+        long rowsRead = Math.max(0, row - alreadyProcessed);
+        return new ImportReport(
+                importId,
+                Math.min(row, alreadyProcessed),
+                checkpoint.getAccepted() - acceptedBefore,
+                checkpoint.getRejected() - rejectedBefore,
+                elapsedNanos / 1_000_000,
+                elapsedNanos > 0 ? rowsRead * 1e9 / elapsedNanos : 0.0,
+                errors);
+    }
+
+    // Reads the checkpoint of an import, creating it on the first run. Two first runs at once
+    // both try to create it; the loser fails on the primary key.
+    private ImportCheckpoint checkpoint(String importId, String venue) {
+        try {
+            return transactionTemplate.execute(status -> importCheckpointRepository.findById(importId)
+                    .orElseGet(() -> importCheckpointRepository.saveAndFlush(new ImportCheckpoint(importId, venue, 0, 0, 0, Instant.now()))));
+        } catch (DataIntegrityViolationException e) {
+            throw new ConcurrencyFailureException("Import " + importId + " is already running", e);
+        }
+    }
+
+    // Writes one batch and advances the checkpoint in a single transaction, holding the checkpoint
+    // row lock. A stored checkpoint other than the one this run last wrote means another run got there first.
+    private void flush(ImportCheckpoint checkpoint, long rowsProcessed, List<HistoricalRecord> batch, int rejected) {
+        if (rowsProcessed <= checkpoint.getRowsProcessed()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            long stored = importCheckpointRepository.lockRowsProcessed(checkpoint.getImportId()).orElse(-1L);
+            if (stored != checkpoint.getRowsProcessed()) {
+                throw new ConcurrencyFailureException("Import " + checkpoint.getImportId() + " is being run by another request");
+            }
+            bulkInsertRepository.insertHistory(batch);
+            checkpoint.setRowsProcessed(rowsProcessed);
+            checkpoint.setAccepted(checkpoint.getAccepted() + batch.size());
+            checkpoint.setRejected(checkpoint.getRejected() + rejected);
+            checkpoint.setUpdatedAt(Instant.now());
+            importCheckpointRepository.save(checkpoint);
+        });
+        committedHistoryHandler.committed(batch);
+    }
+
+    private static String describe(Exception e) {
+        return e instanceof JsonProcessingException jsonError ? jsonError.getOriginalMessage() : e.getMessage();
+    }
+
+    // Maps each expected field to its position in the header row. The optional item column
+    // comes last and is -1 when the header does not have it.
+    private static int[] csvColumns(String header) {
+        List<String> names = Arrays.stream(splitCsv(header)).map(String::trim).toList();
+        int[] columns = new int[CSV_COLUMNS.size() + 1];
+        columns[CSV_COLUMNS.size()] = names.indexOf(CSV_ITEM_COLUMN);
+        for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+            columns[i] = names.indexOf(CSV_COLUMNS.get(i));
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("CSV header is missing column " + CSV_COLUMNS.get(i));
+            }
+        }
+        return columns;
+    }
+
+    private static HistoricalDataItem parseCsv(String line, int[] columns) {
+        if (columns == null) {
+            throw new IllegalArgumentException("CSV header is missing");
+        }
+        String[] fields = splitCsv(line);
+        for (int column : columns) {
+            if (column >= fields.length) {
+                throw new IllegalArgumentException("expected " + CSV_COLUMNS.size() + " fields, found " + fields.length);
+            }
+        }
+        HistoricalDataItem item = new HistoricalDataItem(
+                fields[columns[0]].trim(),
+                fields[columns[1]].trim(),
+                fields[columns[2]].trim(),
+                Integer.parseInt(fields[columns[3]].trim()),
+                Integer.parseInt(fields[columns[4]].trim()),
+                Integer.parseInt(fields[columns[5]].trim()));
+        int itemColumn = columns[CSV_COLUMNS.size()];
+        if (itemColumn >= 0 && !fields[itemColumn].isBlank()) {
+            item.setItemName(fields[itemColumn].trim());
+        }
+        return item;
+    }
+
+    // Splits one CSV line, honouring double-quoted fields and "" escapes.
+    static String[] splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+}
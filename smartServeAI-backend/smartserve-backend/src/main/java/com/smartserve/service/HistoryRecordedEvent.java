@@ -0,0 +1,10 @@
+package com.smartserve.service;
+
+import java.util.Set;
+
+/**
+ * Published once a batch of history has been committed and folded into the aggregates and the model.
+ * @param venues The venues the batch had records for.
+ */
+public record HistoryRecordedEvent(Set<String> venues) {
+}
@@ -0,0 +1,275 @@
+package com.smartserve.service;
+
+import com.smartserve.model.HistoricalRecord;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Multiplicative Holt-Winters exponential smoothing with a damped trend and two seasonal
+ * cycles: day of week and week of year.
+ * Observations may arrive on irregular days; the trend is scaled by the gap between them.
+ * Series are partitioned by venue. Within a venue each series is one slot in a set of parallel
+ * primitive arrays (level, trend, last day, observation count, 7 day-of-week factors and
+ * 53 week-of-year factors), about 500 bytes per series, so an update or a forecast touches a
+ * handful of array cells and allocates nothing.
+ * Updates to a venue are serialized by that venue's write lock; forecasts read optimistically and
+ * only fall back to a read lock if an update to the same venue ran concurrently.
+ */
+public class HoltWintersForecaster implements Forecaster {
+
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int WEEKS_PER_YEAR = 53;
+    // Seasonal factors are kept within this range so one outlier cannot zero or explode a forecast.
+    private static final double MIN_FACTOR = 0.2;
+    private static final double MAX_FACTOR = 5.0;
+
+    /**
+     * Smoothing parameters.
+     * @param alpha Weight of a new observation in the level.
+     * @param beta Weight of a new observation in the trend.
+     * @param gamma Weight of a new observation in its day-of-week factor.
+     * @param delta Weight of a new observation in its week-of-year factor.
+     * @param phi Trend damping per day; 1 means no damping.
+     * @param minObservations Observations a series needs before it is forecast.
+     */
+    public record Parameters(double alpha, double beta, double gamma, double delta, double phi, int minObservations) {
+    }
+
+    private final Parameters parameters;
+    private final int initialCapacity;
+    // One independent model per venue: a venue's series, arrays and lock are its own, so a
+    // venue's updates never block another venue's forecasts and its footprint follows its own data.
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    public HoltWintersForecaster(Parameters parameters) {
+        this(parameters, 64);
+    }
+
+    /**
+     * @param parameters Smoothing parameters.
+     * @param initialCapacity Series each venue's arrays are first sized for; they double as needed.
+     */
+    public HoltWintersForecaster(Parameters parameters, int initialCapacity) {
+        this.parameters = parameters;
+        this.initialCapacity = Math.max(1, initialCapacity);
+    }
+
+    @Override
+    public void observe(String venue, String itemName, String eventType, LocalDate date, double consumptionRate) {
+        if (!(consumptionRate >= 0) || Double.isInfinite(consumptionRate)) {
+            return;
+        }
+        partitions.computeIfAbsent(venueKey(venue), key -> new Partition(initialCapacity))
+                .observe(new SeriesKey(itemName != null ? itemName : ALL_ITEMS, eventType), date, consumptionRate);
+    }
+
+    @Override
+    public double forecast(String venue, String itemName, String eventType, LocalDate date) {
+        Partition partition = partitions.get(venueKey(venue));
+        return partition == null ? Double.NaN
+                : partition.forecast(new SeriesKey(itemName != null ? itemName : ALL_ITEMS, eventType), date);
+    }
+
+    @Override
+    public long generation(String venue, String itemName, String eventType) {
+        Partition partition = partitions.get(venueKey(venue));
+        return partition == null ? 0L
+                : partition.generation(new SeriesKey(itemName != null ? itemName : ALL_ITEMS, eventType));
+    }
+
+    @Override
+    public int seriesCount() {
+        int count = 0;
+        for (Partition partition : partitions.values()) {
+            count += partition.slots.size();
+        }
+        return count;
+    }
+
+    private static String venueKey(String venue) {
+        return venue != null ? venue : HistoricalRecord.DEFAULT_VENUE;
+    }
+
+    /**
+     * The series of one venue, each a slot in a set of parallel primitive arrays.
+     * Updates are serialized by a write lock; forecasts read optimistically and only fall back to a
+     * read lock if an update ran concurrently.
+     */
+    private final class Partition {
+
+        private final Map<SeriesKey, Integer> slots = new ConcurrentHashMap<>();
+        private final StampedLock lock = new StampedLock();
+
+        // Per-series state, indexed by slot (seasonal arrays by slot * period + phase).
+        private double[] level;
+        private double[] trend;
+        private long[] lastDay;
+        private long[] observations;
+        private double[] dayOfWeek;
+        private double[] weekOfYear;
+        private int seriesCount;
+
+        Partition(int initialCapacity) {
+            allocate(initialCapacity);
+        }
+
+        void observe(SeriesKey key, LocalDate date, double consumptionRate) {
+            long day = date.toEpochDay();
+            long stamp = lock.writeLock();
+            try {
+                Integer slot = slots.get(key);
+                if (slot == null) {
+                    slot = addSeries(key);
+                    level[slot] = consumptionRate;
+                    lastDay[slot] = day;
+                    observations[slot] = 1;
+                    return;
+                }
+                update(slot, day, date.getDayOfYear(), consumptionRate);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        double forecast(SeriesKey key, LocalDate date) {
+            Integer slot = slots.get(key);
+            if (slot == null) {
+                return Double.NaN;
+            }
+            long stamp = lock.tryOptimisticRead();
+            double forecast = forecastSlot(slot, date);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    forecast = forecastSlot(slot, date);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return forecast;
+        }
+
+        long generation(SeriesKey key) {
+            Integer slot = slots.get(key);
+            if (slot == null) {
+                return 0L;
+            }
+            long stamp = lock.tryOptimisticRead();
+            long[] counts = observations;
+            long generation = slot < counts.length ? counts[slot] : 0L;
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    generation = observations[slot];
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return generation;
+        }
+
+        // Reads one forecast. Under an optimistic read the arrays may be mid-resize, so the result is
+        // only trusted once the stamp validates; the bounds checks just keep a torn read from throwing.
+        private double forecastSlot(int slot, LocalDate date) {
+            double[] levels = level;
+            double[] trends = trend;
+            long[] lastDays = lastDay;
+            long[] counts = observations;
+            double[] dayFactors = dayOfWeek;
+            double[] weekFactors = weekOfYear;
+            if (slot >= levels.length || slot >= trends.length || slot >= lastDays.length || slot >= counts.length
+                    || (slot + 1) * DAYS_PER_WEEK > dayFactors.length || (slot + 1) * WEEKS_PER_YEAR > weekFactors.length) {
+                return Double.NaN;
+            }
+            if (counts[slot] < parameters.minObservations()) {
+                return Double.NaN;
+            }
+            long day = date.toEpochDay();
+            double base = levels[slot] + trends[slot] * dampedSteps(day - lastDays[slot]);
+            return Math.max(0.0, base)
+                    * dayFactors[slot * DAYS_PER_WEEK + dayOfWeekIndex(day)]
+                    * weekFactors[slot * WEEKS_PER_YEAR + weekOfYearIndex(date.getDayOfYear())];
+        }
+
+        // One smoothing step. Observations older than the latest one refine the level and the
+        // seasonal factors but do not move the series forward in time or change its trend.
+        private void update(int slot, long day, int dayOfYear, double value) {
+            long gap = Math.max(0, day - lastDay[slot]);
+            int dowIndex = slot * DAYS_PER_WEEK + dayOfWeekIndex(day);
+            int woyIndex = slot * WEEKS_PER_YEAR + weekOfYearIndex(dayOfYear);
+            double dow = dayOfWeek[dowIndex];
+            double woy = weekOfYear[woyIndex];
+
+            double previousLevel = level[slot];
+            double expectedLevel = Math.max(0.0, previousLevel + trend[slot] * dampedSteps(gap));
+            double newLevel = parameters.alpha() * (value / (dow * woy)) + (1 - parameters.alpha()) * expectedLevel;
+            if (gap > 0) {
+                trend[slot] = parameters.beta() * (newLevel - previousLevel) / gap + (1 - parameters.beta()) * trend[slot];
+                lastDay[slot] = day;
+            }
+            level[slot] = newLevel;
+            if (newLevel > 0) {
+                double newDow = parameters.gamma() * (value / (newLevel * woy)) + (1 - parameters.gamma()) * dow;
+                dayOfWeek[dowIndex] = clampFactor(newDow);
+                double newWoy = parameters.delta() * (value / (newLevel * dayOfWeek[dowIndex])) + (1 - parameters.delta()) * woy;
+                weekOfYear[woyIndex] = clampFactor(newWoy);
+            }
+            observations[slot]++;
+        }
+
+        private int addSeries(SeriesKey key) {
+            int slot = seriesCount;
+            if (slot == level.length) {
+                allocate(level.length * 2);
+            }
+            seriesCount++;
+            slots.put(key, slot);
+            return slot;
+        }
+
+        // Grows every per-series array to the given capacity; new seasonal factors start neutral.
+        private void allocate(int capacity) {
+            int previous = level == null ? 0 : level.length;
+            level = level == null ? new double[capacity] : Arrays.copyOf(level, capacity);
+            trend = trend == null ? new double[capacity] : Arrays.copyOf(trend, capacity);
+            lastDay = lastDay == null ? new long[capacity] : Arrays.copyOf(lastDay, capacity);
+            observations = observations == null ? new long[capacity] : Arrays.copyOf(observations, capacity);
+            dayOfWeek = dayOfWeek == null ? new double[capacity * DAYS_PER_WEEK] : Arrays.copyOf(dayOfWeek, capacity * DAYS_PER_WEEK);
+            weekOfYear = weekOfYear == null ? new double[capacity * WEEKS_PER_YEAR] : Arrays.copyOf(weekOfYear, capacity * WEEKS_PER_YEAR);
+            Arrays.fill(dayOfWeek, previous * DAYS_PER_WEEK, dayOfWeek.length, 1.0);
+            Arrays.fill(weekOfYear, previous * WEEKS_PER_YEAR, weekOfYear.length, 1.0);
+        }
+    }
+
+    // Sum of phi^1..phi^steps: how far a damped trend carries over the given number of days.
+    private double dampedSteps(long steps) {
+        if (steps <= 0) {
+            return 0.0;
+        }
+        double phi = parameters.phi();
+        if (phi >= 1.0) {
+            return steps;
+        }
+        return phi * (1 - Math.pow(phi, steps)) / (1 - phi);
+    }
+
+    private static double clampFactor(double factor) {
+        return Math.min(MAX_FACTOR, Math.max(MIN_FACTOR, factor));
+    }
+
+    // 0 = Monday; 1970-01-01 (epoch day 0) was a Thursday.
+    private static int dayOfWeekIndex(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, DAYS_PER_WEEK);
+    }
+
+    private static int weekOfYearIndex(int dayOfYear) {
+        return (dayOfYear - 1) / DAYS_PER_WEEK;
+    }
+
+    private record SeriesKey(String itemName, String eventType) {
+    }
+}
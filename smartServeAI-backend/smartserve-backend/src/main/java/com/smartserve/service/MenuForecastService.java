@@ -0,0 +1,142 @@
+package com.smartserve.service;
+
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.ForecastResponse;
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.MenuItemForecast;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class responsible for forecasting every item of an event's menu in one call.
+ * The event-level part of the forecast (rule multipliers, venue, date, consumption lookup) is
+ * computed once and shared; only the consumption rate differs per item. With history sent in
+ * the request, the per-item rates come from a single pass over it; with stored history, each
+ * item's rate comes from its own model series. An item with no history of its own is given an
+ * equal share of the whole-event rate rather than the whole of it.
+ */
+@Service
+public class MenuForecastService {
+
+    private final FoodForecastService foodForecastService;
+    private final HistoricalDataService historicalDataService;
+    private final Forecaster forecaster;
+    private final ForecastMetrics forecastMetrics;
+
+    public MenuForecastService(FoodForecastService foodForecastService,
+                               HistoricalDataService historicalDataService,
+                               Forecaster forecaster,
+                               ForecastMetrics forecastMetrics) {
+        this.foodForecastService = foodForecastService;
+        this.historicalDataService = historicalDataService;
+        this.forecaster = forecaster;
+        this.forecastMetrics = forecastMetrics;
+    }
+
+    /**
+     * Forecasts each menu item for an event.
+     *
+     * @param eventDetails The event the menu is served at.
+     * @param items The menu items; duplicates are forecast once.
+     * @param historicalData History to forecast from, or null to use the server-side store.
+     * @return One forecast per distinct item, in request order.
+     */
+    public List<MenuItemForecast> forecastMenu(EventDetails eventDetails, List<String> items, List<HistoricalDataItem> historicalData) {
+        List<String> menu = new ArrayList<>(new LinkedHashSet<>(items));
+        long start = System.nanoTime();
+        double[] rates = historicalData != null
+                ? ratesFromHistory(menu, historicalData)
+                : ratesFromStore(menu, eventDetails);
+        forecastMetrics.recordAggregation(start);
+        if (historicalData != null) {
+            forecastMetrics.recordHistorySize(historicalData.size());
+        }
+
+        start = System.nanoTime();
+        int footfall = eventDetails.getFootfall();
+        double baseForecast = foodForecastService.eventBaseForecast(
+                eventDetails.getEventTypeId(), eventDetails.getAudienceProfileId(), footfall);
+        List<MenuItemForecast> forecasts = new ArrayList<>(menu.size());
+        for (int i = 0; i < menu.size(); i++) {
+            ForecastResponse forecast = FoodForecastService.applyConsumptionRate(baseForecast, rates[i], footfall);
+            forecasts.add(new MenuItemForecast(menu.get(i), forecast));
+        }
+        forecastMetrics.recordPrediction(start);
+        return forecasts;
+    }
+
+    /**
+     * Per-item mean consumption rates from one pass over request history. Rows for a menu item
+     * give that item's rate; rows without an item describe the whole event and give the event
+     * rate. Items without history of their own get an equal share of the event rate, so the
+     * menu as a whole is never forecast above the event. Rows for items not on the menu are ignored.
+     */
+    static double[] ratesFromHistory(List<String> menu, List<HistoricalDataItem> historicalData) {
+        Map<String, Integer> slots = new HashMap<>(menu.size() * 2);
+        for (int i = 0; i < menu.size(); i++) {
+            slots.put(menu.get(i), i);
+        }
+        double[] sums = new double[menu.size()];
+        int[] counts = new int[menu.size()];
+        double eventSum = 0.0;
+        int eventCount = 0;
+        for (HistoricalDataItem item : historicalData) {
+            if (item.getFootfall() <= 0) {
+                continue;
+            }
+            double rate = (double) item.getFoodConsumed() / item.getFootfall();
+            if (item.getItemName() == null) {
+                eventSum += rate;
+                eventCount++;
+                continue;
+            }
+            Integer slot = slots.get(item.getItemName());
+            if (slot != null) {
+                sums[slot] += rate;
+                counts[slot]++;
+            }
+        }
+        double share = (eventCount > 0 ? eventSum / eventCount : 1.0) / menu.size();
+        double[] rates = new double[menu.size()];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = counts[i] > 0 ? sums[i] / counts[i] : share;
+        }
+        return rates;
+    }
+
+    // Per-item model rates. Items the model cannot forecast get an equal share of the event rate,
+    // which is looked up once: the whole-menu model series, else the stored consumption average.
+    private double[] ratesFromStore(List<String> menu, EventDetails eventDetails) {
+        String venue = eventDetails.getVenue() != null ? eventDetails.getVenue() : HistoricalRecord.DEFAULT_VENUE;
+        LocalDate eventDate = eventDetails.getLocalDate() != null ? eventDetails.getLocalDate() : LocalDate.now();
+        double share = Double.NaN;
+        double[] rates = new double[menu.size()];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = forecaster.forecast(venue, menu.get(i), eventDetails.getEventType(), eventDate);
+            if (Double.isNaN(rates[i])) {
+                if (Double.isNaN(share)) {
+                    share = eventRate(venue, eventDetails, eventDate) / menu.size();
+                }
+                rates[i] = share;
+            }
+        }
+        return rates;
+    }
+
+    private double eventRate(String venue, EventDetails eventDetails, LocalDate eventDate) {
+        double rate = forecaster.forecast(venue, null, eventDetails.getEventType(), eventDate);
+        if (!Double.isNaN(rate)) {
+            return rate;
+        }
+        ConsumptionStats.Summary summary = historicalDataService.consumptionSummary(
+                venue, eventDetails.getEventType(), eventDetails.getAudienceProfile(), eventDate).summary();
+        return summary.count() > 0 ? summary.mean() : 1.0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.smartserve.service;
+
+import com.smartserve.model.ScheduledEvent;
+import com.smartserve.repository.ScheduledEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Service class responsible for a venue's schedule of known upcoming events.
+ * Every change marks the venue for a refresh of its materialized forecasts.
+ */
+@Service
+public class ScheduledEventService {
+
+    private final ScheduledEventRepository scheduledEventRepository;
+    private final ForecastMaterializationService forecastMaterializationService;
+
+    public ScheduledEventService(ScheduledEventRepository scheduledEventRepository,
+                                 ForecastMaterializationService forecastMaterializationService) {
+        this.scheduledEventRepository = scheduledEventRepository;
+        this.forecastMaterializationService = forecastMaterializationService;
+    }
+
+    /**
+     * Adds events to a venue's schedule.
+     * @param venue The venue hosting the events.
+     * @param events The events; ids are assigned.
+     * @return The saved events.
+     * @throws IllegalArgumentException If an event is incomplete or its recurrence is invalid.
+     */
+    @Transactional
+    public List<ScheduledEvent> schedule(String venue, List<ScheduledEvent> events) {
+        for (ScheduledEvent event : events) {
+            validate(event);
+            event.setId(null);
+            event.setVenue(venue);
+        }
+        List<ScheduledEvent> saved = scheduledEventRepository.saveAll(events);
+        forecastMaterializationService.markChanged(venue);
+        return saved;
+    }
+
+    /**
+     * @param venue The venue.
+     * @return The venue's scheduled events, by first occurrence.
+     */
+    @Transactional(readOnly = true)
+    public List<ScheduledEvent> list(String venue) {
+        return scheduledEventRepository.findByVenueOrderByDateAscIdAsc(venue);
+    }
+
+    /**
+     * Removes an event from its venue's schedule. Its materialized forecasts go with the next refresh.
+     * @param id The event id.
+     * @throws NoSuchElementException If no event has that id.
+     */
+    @Transactional
+    public void cancel(long id) {
+        ScheduledEvent event = scheduledEventRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("No scheduled event " + id));
+        scheduledEventRepository.delete(event);
+        forecastMaterializationService.markChanged(event.getVenue());
+    }
+
+    private static void validate(ScheduledEvent event) {
+        if (event.getEventType() == null || event.getAudienceProfile() == null || event.getDate() == null) {
+            throw new IllegalArgumentException("eventType, audienceProfile and date are required");
+        }
+        if (event.getFootfall() < 0) {
+            throw new IllegalArgumentException("footfall must not be negative");
+        }
+        if (event.getRepeatEveryDays() != null && event.getRepeatEveryDays() < 1) {
+            throw new IllegalArgumentException("repeatEveryDays must be at least 1");
+        }
+        if (event.getEndDate() != null && event.getEndDate().isBefore(event.getDate())) {
+            throw new IllegalArgumentException("endDate must not be before date");
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.smartserve.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bounded write-behind buffer that takes database writes off request threads.
+ * Submitted items are written by a single background thread in batches, flushed when a batch
+ * is full or when the oldest item has waited the maximum delay. Every submission returns a
+ * future that completes once its batch has been committed, so callers that need a durable
+ * acknowledgement wait for it and others do not. When the buffer is full, submitters wait up
+ * to the offer timeout and are then rejected, which pushes back on producers instead of
+ * growing the heap. A submission is queued and written as a whole: it either gets space for
+ * all of its items or is rejected without queueing any, and its items are committed in one
+ * write. Pending items are flushed on shutdown.
+ *
+ * @param <T> The type of item written.
+ */
+public class WriteBehindQueue<T> implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private final String name;
+    private final Consumer<List<T>> writer;
+    private final BlockingQueue<Pending<T>> queue;
+    // Free space in the buffer, in items.
+    private final Semaphore space;
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final long offerTimeoutNanos;
+    private volatile boolean running;
+    private Thread flusher;
+
+    /**
+     * @param name Name used for the flusher thread and in logs.
+     * @param writer Writes one batch; must commit before returning and throw on failure.
+     * @param capacity Maximum number of items waiting to be written. A larger submission waits until
+     *                 the buffer is empty and then takes all of it.
+     * @param batchSize Maximum number of items per write.
+     * @param maxDelay Longest time an item waits for its batch to fill.
+     * @param offerTimeout Longest time a submitter waits for space in a full buffer.
+     */
+    public WriteBehindQueue(String name, Consumer<List<T>> writer, int capacity, int batchSize, Duration maxDelay, Duration offerTimeout) {
+        this.name = name;
+        this.writer = writer;
+        this.queue = new LinkedBlockingQueue<>();
+        this.space = new Semaphore(capacity);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+    }
+
+    /**
+     * Queues one item for writing.
+     * @param item The item to write.
+     * @return A future completed when the item has been committed, or failed if the write failed.
+     * @throws RejectedExecutionException If the buffer stayed full for the offer timeout or is shut down.
+     */
+    public CompletableFuture<Void> submit(T item) {
+        return submitAll(List.of(item));
+    }
+
+    /**
+     * Queues several items for writing, all or none of them.
+     * @param items The items to write.
+     * @return A future completed when all items have been committed, or failed if the write failed.
+     * @throws RejectedExecutionException If the buffer did not have room for all items within the
+     *                                    offer timeout, or is shut down; no item was queued.
+     */
+    public CompletableFuture<Void> submitAll(List<T> items) {
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!running) {
+            throw new RejectedExecutionException(name + " write-behind queue is not running");
+        }
+        int permits = Math.min(items.size(), capacity);
+        try {
+            if (!space.tryAcquire(permits, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new RejectedExecutionException(name + " write-behind queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while queueing a write", e);
+        }
+        Pending<T> pending = new Pending<>(List.copyOf(items), permits, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.done();
+    }
+
+    /**
+     * @return Number of items waiting to be written.
+     */
+    public int pending() {
+        return capacity - space.availablePermits();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, name + "-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(maxDelayNanos) + 30_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything the flusher did not take (it timed out, or a submission raced with shutdown) is not written.
+        Pending<T> left;
+        while ((left = queue.poll()) != null) {
+            left.done().completeExceptionally(new RejectedExecutionException(name + " write-behind queue was shut down"));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Lower phases stop later. The web server drains requests at SMART_LIFECYCLE_PHASE and stops one
+    // step (1024) below it, so stopping below both lets in-flight requests still submit; the DataSource
+    // is closed only after every lifecycle has stopped.
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private void flushLoop() {
+        List<Pending<T>> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<T> first = queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                int size = first.items().size();
+                long deadline = System.nanoTime() + maxDelayNanos;
+                // Submissions are never split, so a batch may end up somewhat larger than batchSize.
+                while (size < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T> next = remaining > 0 && running
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    size += next.items().size();
+                }
+                write(batch, size);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending<T>> batch, int size) {
+        List<T> items = new ArrayList<>(size);
+        for (Pending<T> pending : batch) {
+            items.addAll(pending.items());
+        }
+        Throwable failure = null;
+        try {
+            writer.accept(items);
+        } catch (Throwable e) {
+            // Fail the submitters on anything, errors included, rather than leave them waiting.
+            log.error("{} write-behind batch of {} items failed", name, items.size(), e);
+            failure = e;
+        }
+        for (Pending<T> pending : batch) {
+            space.release(pending.permits());
+            if (failure == null) {
+                pending.done().complete(null);
+            } else {
+                pending.done().completeExceptionally(failure);
+            }
+        }
+    }
+
+    private record Pending<T>(List<T> items, int permits, CompletableFuture<Void> done) {
+    }
+}
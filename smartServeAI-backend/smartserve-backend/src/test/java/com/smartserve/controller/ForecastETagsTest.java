@@ -0,0 +1,24 @@
+package com.smartserve.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForecastETagsTest {
+
+    private static final String ETAG = "\"3f2a\"";
+
+    @Test
+    void matchesTheCurrentTagWeaklyAndInAList() {
+        assertThat(ForecastETags.matches(ETAG, ETAG)).isTrue();
+        assertThat(ForecastETags.matches("W/" + ETAG, ETAG)).isTrue();
+        assertThat(ForecastETags.matches("\"old\", " + ETAG, ETAG)).isTrue();
+    }
+
+    @Test
+    void doesNotMatchOtherTagsWildcardOrNoHeader() {
+        assertThat(ForecastETags.matches("\"old\"", ETAG)).isFalse();
+        assertThat(ForecastETags.matches("*", ETAG)).isFalse();
+        assertThat(ForecastETags.matches(null, ETAG)).isFalse();
+    }
+}
@@ -0,0 +1,53 @@
+package com.smartserve.controller;
+
+import com.smartserve.config.SecurityConfig;
+import com.smartserve.service.ForecastMetrics;
+import com.smartserve.service.ForecastModelRegistry;
+import com.smartserve.service.ForecastModelTrainer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ForecastModelController.class)
+@Import(SecurityConfig.class)
+class ForecastModelControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ForecastModelTrainer forecastModelTrainer;
+
+    @MockitoBean
+    private ForecastModelRegistry forecastModelRegistry;
+
+    @MockitoBean
+    private ForecastMetrics forecastMetrics;
+
+    @Test
+    void anonymousCannotRetrainOrRollBack() throws Exception {
+        mockMvc.perform(post("/api/forecast/model/retrain")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/forecast/model/rollback").param("version", "1")).andExpect(status().isUnauthorized());
+
+        verify(forecastModelTrainer, never()).retrain();
+        verify(forecastModelTrainer, never()).rollback(1L);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void adminCanRetrain() throws Exception {
+        when(forecastModelTrainer.retrain()).thenReturn(true);
+
+        mockMvc.perform(post("/api/forecast/model/retrain")).andExpect(status().isAccepted());
+    }
+}
@@ -0,0 +1,95 @@
+package com.smartserve.controller;
+
+import com.smartserve.config.TrafficProperties;
+import com.smartserve.service.AdaptiveConcurrencyLimiter;
+import com.smartserve.service.ClientRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrafficControlFilterTest {
+
+    private final TrafficProperties properties = new TrafficProperties();
+
+    @Test
+    void rateLimitIsKeyedOnTheRemoteAddressNotTheApiKeyHeader() throws Exception {
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setRequestsPerSecond(0.01);
+        TrafficControlFilter filter = filter(new AdaptiveConcurrencyLimiter(properties));
+
+        assertThat(send(filter, request("/api/forecast", "key-1")).getStatus()).isEqualTo(200);
+        // A fresh API key does not buy a fresh bucket.
+        assertThat(send(filter, request("/api/forecast", "key-2")).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void bodyCapExemptionMatchesTheServletPathPattern() throws Exception {
+        properties.setMaxRequestSize(DataSize.ofBytes(10));
+        properties.setUnlimitedBodyPaths(List.of("/api/forecast/history/import"));
+        TrafficControlFilter filter = filter(new AdaptiveConcurrencyLimiter(properties));
+
+        MockHttpServletRequest exempt = request("/api/forecast/history/import", null);
+        // The raw URI carries a path parameter the servlet path does not.
+        exempt.setRequestURI("/api/forecast/history/import;jsessionid=1");
+        exempt.setContent(new byte[100]);
+        MockHttpServletRequest capped = request("/api/forecast/history", null);
+        capped.setContent(new byte[100]);
+
+        assertThat(send(filter, exempt).getStatus()).isEqualTo(200);
+        assertThat(send(filter, capped).getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    void slowRequestsOnExemptPathsDoNotCutTheConcurrencyLimit() throws Exception {
+        properties.getConcurrency().setLatencyTarget(Duration.ofMillis(1));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        TrafficControlFilter filter = filter(limiter);
+        double initial = limiter.limit();
+        FilterChain slow = (request, response) -> sleep(20);
+
+        filter.doFilter(request("/api/forecast/batch", null), new MockHttpServletResponse(), slow);
+        assertThat(limiter.limit()).isEqualTo(initial);
+        assertThat(limiter.inFlight()).isZero();
+
+        filter.doFilter(request("/api/forecast", null), new MockHttpServletResponse(), slow);
+        assertThat(limiter.limit()).isLessThan(initial);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private TrafficControlFilter filter(AdaptiveConcurrencyLimiter limiter) {
+        return new TrafficControlFilter(properties, new ClientRateLimiter(properties), limiter, new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest request(String path, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr("10.0.0.1");
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+
+    private static MockHttpServletResponse send(TrafficControlFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.smartserve.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HistoricalRecordTest {
+
+    @Test
+    void itemWithoutDateIsRejected() {
+        HistoricalDataItem item = new HistoricalDataItem(null, "Holiday Party", "Families", 100, 120, 90);
+
+        assertThatThrownBy(() -> HistoricalRecord.from("east", item))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("date");
+        assertThatThrownBy(() -> HistoricalRecord.from("east", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void itemWithoutCategoriesOrWithNegativeQuantitiesIsRejected() {
+        assertThatThrownBy(() -> HistoricalRecord.from("east", new HistoricalDataItem("2024-06-01", " ", "Families", 100, 120, 90)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("eventType");
+        assertThatThrownBy(() -> HistoricalRecord.from("east", new HistoricalDataItem("2024-06-01", "Holiday Party", null, 100, 120, 90)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("audienceProfile");
+        assertThatThrownBy(() -> HistoricalRecord.from("east", new HistoricalDataItem("2024-06-01", "Holiday Party", "Families", 100, 120, -1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("negative");
+    }
+
+    @Test
+    void itemRoundTripsThroughTheRecord() {
+        HistoricalDataItem item = new HistoricalDataItem("2024-06-01", "Holiday Party", "Families", 100, 120, 90);
+        item.setItemName("rice");
+
+        HistoricalRecord record = HistoricalRecord.from("east", item);
+
+        assertThat(record.getVenue()).isEqualTo("east");
+        assertThat(record.getDate()).isEqualTo(LocalDate.of(2024, 6, 1));
+        assertThat(record.toItem().getItemName()).isEqualTo("rice");
+        assertThat(record.toItem().getFoodConsumed()).isEqualTo(90);
+    }
+}
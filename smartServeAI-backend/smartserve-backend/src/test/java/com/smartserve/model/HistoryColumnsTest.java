@@ -0,0 +1,63 @@
+package com.smartserve.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HistoryColumnsTest {
+
+    @Test
+    void columnsBuiltFromRowsAreValidAndShareNameTables() {
+        HistoryColumns columns = HistoryColumns.from(List.of(
+                new HistoricalDataItem("2024-06-01", "Holiday Party", "Families", 100, 120, 90),
+                new HistoricalDataItem("2024-06-02", "Holiday Party", "Corporate", 80, 90, 70),
+                new HistoricalDataItem("2024-06-03", "Gala Dinner", "Families", 60, 70, 50)));
+
+        columns.validate();
+
+        assertThat(columns.size()).isEqualTo(3);
+        assertThat(columns.getEventTypeNames()).containsExactly("Holiday Party", "Gala Dinner");
+        assertThat(columns.getEventTypes()).containsExactly(0, 0, 1);
+        assertThat(columns.getAudienceProfiles()).containsExactly(0, 1, 0);
+    }
+
+    @Test
+    void requiredColumnsMustBePresent() {
+        HistoryColumns columns = new HistoryColumns();
+        columns.setFootfall(new int[] {100});
+
+        assertThatThrownBy(columns::validate).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("required");
+    }
+
+    @Test
+    void columnsMustHaveTheSameLength() {
+        HistoryColumns columns = valid();
+        columns.setFoodPrepared(new int[] {120});
+
+        assertThatThrownBy(columns::validate).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("foodPrepared");
+    }
+
+    @Test
+    void nameIndexesMustBeInRange() {
+        HistoryColumns columns = valid();
+        columns.setEventTypes(new int[] {0, 1});
+
+        assertThatThrownBy(columns::validate).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("eventTypes");
+
+        columns.setEventTypes(new int[] {0, -1});
+        assertThatThrownBy(columns::validate).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HistoryColumns valid() {
+        HistoryColumns columns = new HistoryColumns();
+        columns.setFootfall(new int[] {100, 80});
+        columns.setFoodConsumed(new int[] {90, 70});
+        columns.setEventTypeNames(new String[] {"Holiday Party"});
+        columns.setEventTypes(new int[] {0, 0});
+        columns.validate();
+        return columns;
+    }
+}
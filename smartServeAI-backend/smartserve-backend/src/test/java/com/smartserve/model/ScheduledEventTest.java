@@ -0,0 +1,53 @@
+package com.smartserve.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduledEventTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 6, 10);
+    private static final LocalDate TO = LocalDate.of(2024, 6, 23);
+
+    @Test
+    void oneOffEventOccursOnlyInsideTheWindow() {
+        assertThat(event("2024-06-15", null, null).occurrences(FROM, TO)).containsExactly(LocalDate.of(2024, 6, 15));
+        assertThat(event("2024-06-10", null, null).occurrences(FROM, TO)).containsExactly(FROM);
+        assertThat(event("2024-06-23", null, null).occurrences(FROM, TO)).containsExactly(TO);
+        assertThat(event("2024-06-09", null, null).occurrences(FROM, TO)).isEmpty();
+        assertThat(event("2024-06-24", null, null).occurrences(FROM, TO)).isEmpty();
+    }
+
+    @Test
+    void repeatingEventStartedBeforeTheWindowKeepsItsPhase() {
+        // Weekly from Wednesday 2024-05-01: the window holds Wednesdays 12 and 19 June.
+        assertThat(event("2024-05-01", 7, null).occurrences(FROM, TO))
+                .containsExactly(LocalDate.of(2024, 6, 12), LocalDate.of(2024, 6, 19));
+        // Landing exactly on the window start counts.
+        assertThat(event("2024-06-03", 7, null).occurrences(FROM, TO))
+                .containsExactly(LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 17));
+    }
+
+    @Test
+    void repeatingEventStopsAtItsEndDateAndStartsNoEarlierThanItsDate() {
+        assertThat(event("2024-06-01", 3, LocalDate.of(2024, 6, 16)).occurrences(FROM, TO))
+                .containsExactly(LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 13), LocalDate.of(2024, 6, 16));
+        assertThat(event("2024-06-20", 2, null).occurrences(FROM, TO))
+                .containsExactly(LocalDate.of(2024, 6, 20), LocalDate.of(2024, 6, 22));
+        assertThat(event("2024-06-01", 1, LocalDate.of(2024, 6, 9)).occurrences(FROM, TO)).isEmpty();
+    }
+
+    private static ScheduledEvent event(String date, Integer repeatEveryDays, LocalDate endDate) {
+        ScheduledEvent event = new ScheduledEvent();
+        event.setVenue("east");
+        event.setEventType("Holiday Party");
+        event.setAudienceProfile("Families");
+        event.setFootfall(100);
+        event.setDate(LocalDate.parse(date));
+        event.setRepeatEveryDays(repeatEveryDays);
+        event.setEndDate(endDate);
+        return event;
+    }
+}
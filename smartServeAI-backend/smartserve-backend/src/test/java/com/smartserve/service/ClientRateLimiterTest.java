@@ -0,0 +1,63 @@
+package com.smartserve.service;
+
+import com.smartserve.config.TrafficProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimiterTest {
+
+    @Test
+    void burstIsAdmittedAndTheNextRequestWaitsAboutOneInterval() {
+        ClientRateLimiter limiter = limiter(5, 1);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void rejectedRequestsDoNotUseUpTokens() {
+        ClientRateLimiter limiter = limiter(1, 1);
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+
+        long first = limiter.tryAcquire("10.0.0.1");
+        long second = limiter.tryAcquire("10.0.0.1");
+
+        // Both wait for the same token rather than the second queueing behind the first.
+        assertThat(second).isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void clientsHaveTheirOwnBuckets() {
+        ClientRateLimiter limiter = limiter(2, 1);
+        limiter.tryAcquire("10.0.0.1");
+        limiter.tryAcquire("10.0.0.1");
+
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+    }
+
+    @Test
+    void tokensComeBackAtTheConfiguredRate() throws InterruptedException {
+        ClientRateLimiter limiter = limiter(1, 100);
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+
+        Thread.sleep(20);
+
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+    }
+
+    private static ClientRateLimiter limiter(int burst, double requestsPerSecond) {
+        TrafficProperties properties = new TrafficProperties();
+        properties.getRateLimit().setBurst(burst);
+        properties.getRateLimit().setRequestsPerSecond(requestsPerSecond);
+        return new ClientRateLimiter(properties);
+    }
+}
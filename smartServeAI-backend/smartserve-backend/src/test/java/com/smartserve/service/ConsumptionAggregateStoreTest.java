@@ -0,0 +1,115 @@
+package com.smartserve.service;
+
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.repository.HistoricalRecordRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConsumptionAggregateStoreTest {
+
+    private static final String VENUE = HistoricalRecord.DEFAULT_VENUE;
+    private static final String EVENT = "Holiday Party";
+
+    private final ConsumptionAggregateStore store = new ConsumptionAggregateStore(null);
+
+    @Test
+    void windowCountsOnlyItsOwnDaysInPartialEdgeMonths() {
+        record("2024-01-10", "Families", 50);
+        record("2024-01-20", "Families", 60);
+        record("2024-02-15", "Families", 70);
+        record("2024-03-05", "Families", 80);
+        // On and after the event date: must never leak into the window ending the day before.
+        record("2024-03-10", "Families", 100);
+        record("2024-03-25", "Families", 100);
+
+        ConsumptionStats.Summary summary = store.summary(VENUE, EVENT, "Families",
+                LocalDate.parse("2024-01-15"), LocalDate.parse("2024-03-09"));
+
+        assertThat(summary.count()).isEqualTo(3);
+        assertThat(summary.mean()).isCloseTo(0.7, within(1e-9));
+    }
+
+    @Test
+    void windowWithinOneMonthAndWholeMonthWindowsAgree() {
+        record("2024-05-01", "Families", 40);
+        record("2024-05-15", "Families", 60);
+        record("2024-05-31", "Families", 80);
+
+        assertThat(store.summary(VENUE, EVENT, "Families", LocalDate.parse("2024-05-02"), LocalDate.parse("2024-05-30")).count())
+                .isEqualTo(1);
+        assertThat(store.summary(VENUE, EVENT, "Families", LocalDate.parse("2024-05-01"), LocalDate.parse("2024-05-31")).count())
+                .isEqualTo(3);
+        assertThat(store.summary(VENUE, EVENT, "Families", LocalDate.parse("2024-04-30"), LocalDate.parse("2024-06-01")).count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void fallsBackToAllAudiencesOnlyWhenTheExactAudienceHasNoHistory() {
+        record("2024-01-10", "Families", 50);
+        record("2024-01-11", "Corporate", 90);
+
+        ConsumptionAggregateStore.Lookup exact = store.summaryWithFallback(VENUE, EVENT, "Families",
+                LocalDate.parse("2024-01-01"), LocalDate.parse("2024-01-31"));
+        ConsumptionAggregateStore.Lookup fallback = store.summaryWithFallback(VENUE, EVENT, "Students",
+                LocalDate.parse("2024-01-01"), LocalDate.parse("2024-01-31"));
+
+        assertThat(exact.audienceProfile()).isEqualTo("Families");
+        assertThat(exact.summary().count()).isEqualTo(1);
+        assertThat(fallback.audienceProfile()).isEqualTo(ConsumptionAggregateStore.ANY_AUDIENCE);
+        assertThat(fallback.summary().count()).isEqualTo(2);
+        assertThat(fallback.summary().mean()).isCloseTo(0.7, within(1e-9));
+    }
+
+    @Test
+    void reseedReplacesTheBucketsAndInvalidatesEarlierGenerations() throws Exception {
+        HistoricalRecordRepository repository = mock(HistoricalRecordRepository.class);
+        HistoricalRecordRepository.ConsumptionBucket bucket = mock(HistoricalRecordRepository.ConsumptionBucket.class);
+        when(bucket.getVenue()).thenReturn(VENUE);
+        when(bucket.getEventType()).thenReturn(EVENT);
+        when(bucket.getAudienceProfile()).thenReturn("Families");
+        when(bucket.getDate()).thenReturn(LocalDate.parse("2024-01-10"));
+        when(bucket.getCount()).thenReturn(2L);
+        when(bucket.getRateSum()).thenReturn(1.0);
+        when(bucket.getRateSquareSum()).thenReturn(0.5);
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.aggregateConsumptionByDay()).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await();
+            return List.of(bucket);
+        });
+        ConsumptionAggregateStore seededStore = new ConsumptionAggregateStore(repository);
+        // A lookup made before the application was ready, from empty aggregates.
+        ConsumptionAggregateStore.Lookup early = seededStore.summaryWithFallback(VENUE, EVENT, "Families",
+                LocalDate.parse("2024-01-01"), LocalDate.parse("2024-01-31"));
+
+        CompletableFuture<Void> reseed = CompletableFuture.runAsync(seededStore::loadFromStore);
+        assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+        // Committed after the query read the database: must wait for the reseed, then land in the new buckets.
+        CompletableFuture<Void> ingest = CompletableFuture.runAsync(() -> seededStore.record(
+                new HistoricalRecord(null, VENUE, LocalDate.parse("2024-01-20"), EVENT, "Families", 100, 100, 80, null)));
+        Thread.sleep(100);
+        assertThat(ingest).isNotDone();
+        release.countDown();
+        reseed.get(5, TimeUnit.SECONDS);
+        ingest.get(5, TimeUnit.SECONDS);
+
+        assertThat(seededStore.generation(VENUE, EVENT, early.audienceProfile())).isNotEqualTo(early.generation());
+        assertThat(seededStore.summary(VENUE, EVENT, "Families", LocalDate.parse("2024-01-01"), LocalDate.parse("2024-01-31")).count())
+                .isEqualTo(3);
+    }
+
+    private void record(String date, String audienceProfile, int consumed) {
+        store.record(new HistoricalRecord(null, VENUE, LocalDate.parse(date), EVENT, audienceProfile, 100, 100, consumed, null));
+    }
+}
@@ -0,0 +1,58 @@
+package com.smartserve.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ConsumptionStatsTest {
+
+    private static final double[] RATES = {0.62, 0.71, 0.55, 0.90, 0.78, 0.66, 0.81};
+
+    @Test
+    void mergingPartsGivesTheSameStatisticsAsAddingEveryRate() {
+        ConsumptionStats all = new ConsumptionStats();
+        ConsumptionStats first = new ConsumptionStats();
+        ConsumptionStats second = new ConsumptionStats();
+        for (int i = 0; i < RATES.length; i++) {
+            all.add(RATES[i]);
+            (i < 3 ? first : second).add(RATES[i]);
+        }
+
+        ConsumptionStats merged = new ConsumptionStats();
+        merged.merge(first.snapshot());
+        merged.merge(second.snapshot());
+
+        ConsumptionStats.Summary expected = all.snapshot();
+        ConsumptionStats.Summary actual = merged.snapshot();
+        assertThat(actual.count()).isEqualTo(expected.count());
+        assertThat(actual.mean()).isCloseTo(expected.mean(), within(1e-12));
+        assertThat(actual.variance()).isCloseTo(expected.variance(), within(1e-12));
+    }
+
+    @Test
+    void summaryFromDatabaseSumsMatchesTheRunningStatistics() {
+        ConsumptionStats stats = new ConsumptionStats();
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (double rate : RATES) {
+            stats.add(rate);
+            sum += rate;
+            sumOfSquares += rate * rate;
+        }
+
+        ConsumptionStats.Summary fromSums = ConsumptionStats.Summary.fromSums(RATES.length, sum, sumOfSquares);
+
+        assertThat(fromSums.mean()).isCloseTo(stats.snapshot().mean(), within(1e-12));
+        assertThat(fromSums.variance()).isCloseTo(stats.snapshot().variance(), within(1e-9));
+    }
+
+    @Test
+    void emptySummariesAreNeutral() {
+        ConsumptionStats.Summary summary = new ConsumptionStats.Summary(3, 0.5, 0.02);
+
+        assertThat(summary.combine(ConsumptionStats.Summary.EMPTY)).isEqualTo(summary);
+        assertThat(ConsumptionStats.Summary.EMPTY.combine(summary)).isEqualTo(summary);
+        assertThat(ConsumptionStats.Summary.EMPTY.variance()).isZero();
+    }
+}
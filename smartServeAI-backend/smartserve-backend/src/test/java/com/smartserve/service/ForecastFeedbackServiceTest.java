@@ -0,0 +1,82 @@
+package com.smartserve.service;
+
+import com.smartserve.model.FoodForecast;
+import com.smartserve.model.ForecastActuals;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.repository.FoodForecastRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ForecastFeedbackServiceTest {
+
+    private FoodForecastRepository foodForecastRepository;
+    private WriteBehindQueue<HistoricalRecord> historyWriteBehind;
+    private ForecastAccuracyTracker accuracyTracker;
+    private ForecastFeedbackService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        foodForecastRepository = mock(FoodForecastRepository.class);
+        historyWriteBehind = mock(WriteBehindQueue.class);
+        accuracyTracker = new ForecastAccuracyTracker(foodForecastRepository);
+        service = new ForecastFeedbackService(null, foodForecastRepository, mock(WriteBehindQueue.class), historyWriteBehind, accuracyTracker);
+    }
+
+    @Test
+    void missingOrNegativeQuantitiesAreRejectedBeforeAnythingIsWritten() {
+        assertThatThrownBy(() -> service.recordActuals(1L, actuals(10, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.recordActuals(1L, actuals(null, 8)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.recordActuals(1L, actuals(10, -1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(foodForecastRepository, historyWriteBehind);
+    }
+
+    @Test
+    void outcomeIsRecordedAgainstTheForecastsOwnVenue() {
+        FoodForecast forecast = new FoodForecast();
+        forecast.setId(7L);
+        forecast.setVenue("east");
+        forecast.setEventType("Holiday Party");
+        forecast.setAudienceProfile("Families");
+        forecast.setExpectedFootfall(100);
+        forecast.setQuantityRecommended(90);
+        forecast.setDate(LocalDate.of(2024, 6, 1));
+        when(foodForecastRepository.recordActuals(anyLong(), anyInt(), anyInt(), any())).thenReturn(1);
+        when(foodForecastRepository.findById(7L)).thenReturn(Optional.of(forecast));
+        when(historyWriteBehind.submit(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        service.recordActuals(7L, actuals(100, 80));
+
+        ArgumentCaptor<HistoricalRecord> record = ArgumentCaptor.forClass(HistoricalRecord.class);
+        verify(historyWriteBehind).submit(record.capture());
+        assertThat(record.getValue().getVenue()).isEqualTo("east");
+        assertThat(record.getValue().getFoodConsumed()).isEqualTo(80);
+        assertThat(accuracyTracker.accuracy("east")).containsKey("Holiday Party");
+        assertThat(accuracyTracker.accuracy(HistoricalRecord.DEFAULT_VENUE)).isEmpty();
+    }
+
+    private static ForecastActuals actuals(Integer prepared, Integer consumed) {
+        ForecastActuals actuals = new ForecastActuals();
+        actuals.setFoodPrepared(prepared);
+        actuals.setFoodConsumed(consumed);
+        return actuals;
+    }
+}
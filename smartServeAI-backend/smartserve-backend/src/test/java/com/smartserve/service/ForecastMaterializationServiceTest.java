@@ -0,0 +1,67 @@
+package com.smartserve.service;
+
+import com.smartserve.repository.BulkInsertRepository;
+import com.smartserve.repository.FoodForecastRepository;
+import com.smartserve.repository.ScheduledEventRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ForecastMaterializationServiceTest {
+
+    @Test
+    void explicitRefreshDoesNotWaitBehindARunningOne() throws Exception {
+        ScheduledEventRepository scheduledEventRepository = mock(ScheduledEventRepository.class);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(scheduledEventRepository.findActive(eq("nightly"), any(), any())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return List.of();
+        });
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            ForecastMaterializationService service = new ForecastMaterializationService(scheduledEventRepository,
+                    mock(FoodForecastRepository.class), mock(BulkInsertRepository.class), null, pool, null, true, 14, 500);
+            CompletableFuture<ForecastMaterializationService.Result> nightly =
+                    CompletableFuture.supplyAsync(() -> service.materialize("nightly"));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(service.tryMaterialize("east")).isEmpty();
+
+            release.countDown();
+            assertThat(nightly.get(5, TimeUnit.SECONDS).occurrences()).isZero();
+            assertThat(service.tryMaterialize("east")).hasValueSatisfying(result -> assertThat(result.venue()).isEqualTo("east"));
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rulesOrModelChangesRefreshEveryVenue() {
+        ScheduledEventRepository scheduledEventRepository = mock(ScheduledEventRepository.class);
+        when(scheduledEventRepository.findVenues()).thenReturn(List.of("east", "west"));
+        when(scheduledEventRepository.findActive(any(), any(), any())).thenReturn(List.of());
+        ForecastMaterializationService service = new ForecastMaterializationService(scheduledEventRepository,
+                mock(FoodForecastRepository.class), mock(BulkInsertRepository.class), null, null, null, true, 14, 500);
+
+        service.onModelChanged(new ForecastModelChangedEvent(7L));
+        service.materializeChanged();
+
+        verify(scheduledEventRepository).findActive(eq("east"), any(), any());
+        verify(scheduledEventRepository).findActive(eq("west"), any(), any());
+    }
+}
@@ -0,0 +1,62 @@
+package com.smartserve.service;
+
+import com.smartserve.model.HistoricalRecord;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ForecastModelRegistryTest {
+
+    private final ForecastModelRegistry registry = new ForecastModelRegistry(() -> mock(Forecaster.class), 3);
+
+    @Test
+    void recordsArrivingDuringTrainingAreReplayedOnceUnlessTheSnapshotHadThem() {
+        HistoricalRecord inSnapshot = record(10L);
+        HistoricalRecord afterSnapshot = record(11L);
+        Forecaster candidate = mock(Forecaster.class);
+
+        registry.beginTraining();
+        // Observed after the training run had already read record 10 from the database.
+        registry.observe(inSnapshot);
+        registry.observe(afterSnapshot);
+        registry.publish(1L, candidate, new long[] {3L, 10L});
+
+        verify(candidate, never()).observe(inSnapshot);
+        verify(candidate).observe(afterSnapshot);
+        assertThat(registry.version()).isEqualTo(1L);
+    }
+
+    @Test
+    void recordsAfterPublishingReachTheNewModelDirectly() {
+        Forecaster candidate = mock(Forecaster.class);
+        registry.beginTraining();
+        registry.publish(1L, candidate, new long[0]);
+
+        HistoricalRecord later = record(12L);
+        registry.observe(later);
+
+        verify(candidate).observe(later);
+    }
+
+    @Test
+    void rollbackServesARetainedVersion() {
+        registry.beginTraining();
+        registry.publish(1L, mock(Forecaster.class), new long[0]);
+        registry.beginTraining();
+        registry.publish(2L, mock(Forecaster.class), new long[0]);
+
+        assertThat(registry.rollback(1L)).isTrue();
+        assertThat(registry.version()).isEqualTo(1L);
+        assertThat(registry.rollback(42L)).isFalse();
+        assertThat(registry.retainedVersions()).containsExactly(0L, 1L, 2L);
+    }
+
+    private static HistoricalRecord record(long id) {
+        return new HistoricalRecord(id, HistoricalRecord.DEFAULT_VENUE, LocalDate.of(2024, 6, 1), "Holiday Party", "Families", 100, 100, 80, null);
+    }
+}
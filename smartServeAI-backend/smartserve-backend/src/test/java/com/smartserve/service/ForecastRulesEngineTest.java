@@ -0,0 +1,48 @@
+package com.smartserve.service;
+
+import com.smartserve.config.ForecastRulesProperties;
+import com.smartserve.model.CategoryDictionary;
+import com.smartserve.model.ForecastRule;
+import com.smartserve.repository.ForecastRuleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ForecastRulesEngineTest {
+
+    private final ForecastRuleRepository repository = mock(ForecastRuleRepository.class);
+    private final List<Object> events = new ArrayList<>();
+    private final ForecastRulesEngine engine = new ForecastRulesEngine(new ForecastRulesProperties(), repository, events::add);
+
+    @Test
+    void reloadWithoutChangesKeepsTheVersion() {
+        when(repository.findAll()).thenReturn(List.of(new ForecastRule(1L, ForecastRule.Kind.EVENT_TYPE, "Gala Dinner", 1.4)));
+        CompiledForecastRules first = engine.reload();
+
+        // Names registered elsewhere in between grow the tables but change no multiplier.
+        CategoryDictionary.EVENT_TYPES.register("Rules Test Event");
+        CompiledForecastRules second = engine.reload();
+
+        assertThat(second).isSameAs(first);
+        assertThat(engine.current().version()).isEqualTo(first.version());
+        assertThat(events).containsExactly(new ForecastRulesChangedEvent(first.version()));
+    }
+
+    @Test
+    void reloadWithAChangedMultiplierPublishesANewVersion() {
+        when(repository.findAll()).thenReturn(List.of(new ForecastRule(1L, ForecastRule.Kind.AUDIENCE_PROFILE, "Students", 1.1)));
+        CompiledForecastRules first = engine.reload();
+
+        when(repository.findAll()).thenReturn(List.of(new ForecastRule(1L, ForecastRule.Kind.AUDIENCE_PROFILE, "Students", 1.2)));
+        CompiledForecastRules second = engine.reload();
+
+        assertThat(second.version()).isEqualTo(first.version() + 1);
+        assertThat(events).endsWith(new ForecastRulesChangedEvent(second.version()));
+        assertThat(second.audienceProfileMultiplier(CategoryDictionary.AUDIENCE_PROFILES.lookup("Students"))).isEqualTo(1.2);
+    }
+}
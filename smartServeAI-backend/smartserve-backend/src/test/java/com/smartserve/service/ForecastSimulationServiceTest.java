@@ -0,0 +1,101 @@
+package com.smartserve.service;
+
+import com.smartserve.config.ForecastModelProperties;
+import com.smartserve.config.ForecastRulesProperties;
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.ForecastSimulation;
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.model.SimulationQuantile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ForecastSimulationServiceTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private FoodForecastService foodForecastService;
+    private ForecastSimulationService simulationService;
+    private EventDetails event;
+
+    @BeforeEach
+    void setUp() {
+        ForecastRulesEngine rulesEngine = new ForecastRulesEngine(new ForecastRulesProperties(), null, event -> { });
+        HistoricalDataService historicalDataService = new HistoricalDataService(new ConsumptionAggregateStore(null), null, 365);
+        ForecastModelProperties properties = new ForecastModelProperties();
+        HoltWintersForecaster forecaster = new HoltWintersForecaster(new HoltWintersForecaster.Parameters(properties.getAlpha(),
+                properties.getBeta(), properties.getGamma(), properties.getDelta(), properties.getPhi(), properties.getMinObservations()));
+        ForecastMetrics metrics = new ForecastMetrics(new SimpleMeterRegistry());
+        foodForecastService = new FoodForecastService(historicalDataService, rulesEngine, null, metrics, forecaster);
+        simulationService = new ForecastSimulationService(foodForecastService, historicalDataService, forecaster,
+                executor, metrics, 0.15, 0.2);
+        event = new EventDetails("Holiday Party", "Families", 200, "2024-06-01");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void quantilesAreNearestRankAndCostsAreMeanLeftoverAndShortfall() {
+        double[] sorted = new double[100];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i + 1;
+        }
+
+        ForecastSimulation simulation = ForecastSimulationService.summarize(sorted, 0.8, 0.1, 0.15);
+
+        assertThat(simulation.getMeanQuantity()).isCloseTo(50.5, within(1e-9));
+        assertThat(simulation.getQuantiles()).extracting(SimulationQuantile::getPercentile).containsExactly(10, 50, 90);
+        assertThat(simulation.getQuantiles()).extracting(SimulationQuantile::getQuantity).containsExactly(10, 50, 90);
+        SimulationQuantile p10 = simulation.getQuantiles().get(0);
+        // Preparing 10 leaves 9 + 8 + ... + 1 over and falls 1 + 2 + ... + 90 short across the 100 trials.
+        assertThat(p10.getExpectedWaste()).isCloseTo(0.45, within(1e-9));
+        assertThat(p10.getExpectedShortfall()).isCloseTo(40.95, within(1e-9));
+    }
+
+    @Test
+    void seededSimulationIsReproducibleAndOrdered() {
+        List<HistoricalDataItem> history = history(0.6, 0.7, 0.8, 0.9);
+
+        // More trials than one chunk, so the executor takes part.
+        ForecastSimulation first = simulationService.simulate(event, history, null, 20_000, null, 42L);
+        ForecastSimulation second = simulationService.simulate(event, history, null, 20_000, null, 42L);
+
+        List<Integer> quantities = first.getQuantiles().stream().map(SimulationQuantile::getQuantity).toList();
+        assertThat(second.getQuantiles()).extracting(SimulationQuantile::getQuantity).isEqualTo(quantities);
+        assertThat(quantities.get(0)).isLessThan(quantities.get(1));
+        assertThat(quantities.get(1)).isLessThan(quantities.get(2));
+        // A higher plan wastes more and falls short less.
+        List<SimulationQuantile> quantiles = first.getQuantiles();
+        assertThat(quantiles.get(0).getExpectedWaste()).isLessThan(quantiles.get(2).getExpectedWaste());
+        assertThat(quantiles.get(0).getExpectedShortfall()).isGreaterThan(quantiles.get(2).getExpectedShortfall());
+    }
+
+    @Test
+    void simulationWithoutSpreadGivesThePointForecastAtEveryPercentile() {
+        ForecastSimulation simulation = simulationService.simulate(event, history(0.75, 0.75, 0.75), null, 1_000, 0.0, 7L);
+
+        int expected = (int) Math.rint(foodForecastService.eventBaseForecast(
+                event.getEventTypeId(), event.getAudienceProfileId(), event.getFootfall()) * 0.75);
+        assertThat(simulation.getConsumptionRateCv()).isZero();
+        assertThat(simulation.getQuantiles()).extracting(SimulationQuantile::getQuantity).containsOnly(expected);
+    }
+
+    private static List<HistoricalDataItem> history(double... rates) {
+        List<HistoricalDataItem> history = new ArrayList<>();
+        for (double rate : rates) {
+            history.add(new HistoricalDataItem("2024-01-01", "Holiday Party", "Families", 100, 100, (int) Math.round(rate * 100)));
+        }
+        return history;
+    }
+}
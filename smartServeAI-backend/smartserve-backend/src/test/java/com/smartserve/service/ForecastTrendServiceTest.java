@@ -0,0 +1,56 @@
+package com.smartserve.service;
+
+import com.smartserve.model.WeeklyForecastTotal;
+import com.smartserve.repository.FoodForecastRepository;
+import com.smartserve.repository.FoodForecastRepository.DailyTotal;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ForecastTrendServiceTest {
+
+    private final FoodForecastRepository repository = mock(FoodForecastRepository.class);
+    private final ForecastTrendService service = new ForecastTrendService(repository);
+
+    @Test
+    void dailyTotalsRollUpIntoWeeksStartingOnMonday() {
+        LocalDate from = LocalDate.of(2024, 6, 1);
+        LocalDate to = LocalDate.of(2024, 6, 12);
+        List<DailyTotal> days = List.of(
+                day("2024-06-01", 10, 100, 1),  // Saturday
+                day("2024-06-02", 20, 200, 2),  // Sunday
+                day("2024-06-03", 30, 300, 1),  // Monday
+                day("2024-06-09", 5, 50, 1),    // Sunday
+                day("2024-06-12", 7, 70, 1));   // Wednesday
+        when(repository.sumByItemAndDay("east", "rice", from, to)).thenReturn(days);
+
+        List<WeeklyForecastTotal> weeks = service.weekly("east", "rice", from, to);
+
+        assertThat(weeks).extracting(WeeklyForecastTotal::getWeekStart)
+                .containsExactly(LocalDate.of(2024, 5, 27), LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 10));
+        assertThat(weeks).extracting(WeeklyForecastTotal::getQuantity).containsExactly(30L, 35L, 7L);
+        assertThat(weeks).extracting(WeeklyForecastTotal::getFootfall).containsExactly(300L, 350L, 70L);
+        assertThat(weeks).extracting(WeeklyForecastTotal::getForecasts).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void reversedWindowIsRejected() {
+        assertThatThrownBy(() -> service.weekly("east", "rice", LocalDate.of(2024, 6, 2), LocalDate.of(2024, 6, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static DailyTotal day(String date, long quantity, long footfall, long forecasts) {
+        DailyTotal total = mock(DailyTotal.class);
+        when(total.getDate()).thenReturn(LocalDate.parse(date));
+        when(total.getQuantity()).thenReturn(quantity);
+        when(total.getFootfall()).thenReturn(footfall);
+        when(total.getForecasts()).thenReturn(forecasts);
+        return total;
+    }
+}
@@ -0,0 +1,70 @@
+package com.smartserve.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartserve.model.ImportCheckpoint;
+import com.smartserve.model.ImportReport;
+import com.smartserve.repository.BulkInsertRepository;
+import com.smartserve.repository.ImportCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HistoryImportServiceTest {
+
+    private static final String CSV = """
+            date,eventType,audienceProfile,footfall,foodPrepared,foodConsumed
+            2024-06-01,Holiday Party,Families,100,120,90
+            2024-06-02,Holiday Party,,100,120,90
+            2024-06-03,Holiday Party,Families,100,120,80
+            """;
+
+    private final BulkInsertRepository bulkInsertRepository = mock(BulkInsertRepository.class);
+    private final ImportCheckpointRepository checkpointRepository = mock(ImportCheckpointRepository.class);
+    private final HistoryImportService service = new HistoryImportService(bulkInsertRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), checkpointRepository,
+            new CommittedHistoryHandler(new ConsumptionAggregateStore(null), mock(Forecaster.class), event -> { }),
+            new ObjectMapper(), 1000);
+
+    @Test
+    void importWritesValidRowsAndAdvancesTheCheckpoint() throws Exception {
+        ImportCheckpoint checkpoint = new ImportCheckpoint("june", "east", 0, 0, 0, null);
+        when(checkpointRepository.findById("june")).thenReturn(Optional.of(checkpoint));
+        when(checkpointRepository.lockRowsProcessed("june")).thenReturn(Optional.of(0L));
+
+        ImportReport report = service.importHistory("east", csv(), HistoryImportService.Format.CSV, "june");
+
+        assertThat(report.getAccepted()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(checkpoint.getRowsProcessed()).isEqualTo(3);
+        verify(bulkInsertRepository).insertHistory(any());
+    }
+
+    @Test
+    void runThatFindsTheCheckpointAdvancedByAnotherWritesNothing() {
+        when(checkpointRepository.findById("june")).thenReturn(Optional.of(new ImportCheckpoint("june", "east", 0, 0, 0, null)));
+        // A concurrent run of the same import committed its first batch after this run read the checkpoint.
+        when(checkpointRepository.lockRowsProcessed("june")).thenReturn(Optional.of(3L));
+
+        assertThatThrownBy(() -> service.importHistory("east", csv(), HistoryImportService.Format.CSV, "june"))
+                .isInstanceOf(ConcurrencyFailureException.class);
+        verify(bulkInsertRepository, never()).insertHistory(any());
+    }
+
+    private static InputStream csv() {
+        return new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,95 @@
+package com.smartserve.service;
+
+import com.smartserve.config.ForecastModelProperties;
+import com.smartserve.model.HistoricalRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HoltWintersForecasterTest {
+
+    private static final String EVENT_TYPE = "Holiday Party";
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private HoltWintersForecaster forecaster;
+
+    @BeforeEach
+    void setUp() {
+        ForecastModelProperties properties = new ForecastModelProperties();
+        // A small initial capacity so the tests also cover growing the arrays.
+        forecaster = new HoltWintersForecaster(new HoltWintersForecaster.Parameters(properties.getAlpha(), properties.getBeta(),
+                properties.getGamma(), properties.getDelta(), properties.getPhi(), properties.getMinObservations()), 1);
+    }
+
+    @Test
+    void seriesIsNotForecastUntilItHasEnoughObservations() {
+        forecaster.observe("hall", "rice", EVENT_TYPE, START, 0.8);
+        forecaster.observe("hall", "rice", EVENT_TYPE, START.plusDays(1), 0.8);
+
+        assertThat(forecaster.forecast("hall", "rice", EVENT_TYPE, START.plusDays(2))).isNaN();
+        assertThat(forecaster.forecast("hall", "dal", EVENT_TYPE, START.plusDays(2))).isNaN();
+        assertThat(forecaster.generation("hall", "rice", EVENT_TYPE)).isEqualTo(2);
+
+        forecaster.observe("hall", "rice", EVENT_TYPE, START.plusDays(2), 0.8);
+
+        assertThat(forecaster.forecast("hall", "rice", EVENT_TYPE, START.plusDays(3))).isCloseTo(0.8, within(1e-9));
+    }
+
+    @Test
+    void constantSeriesForecastsItsValue() {
+        for (int day = 0; day < 120; day++) {
+            forecaster.observe(null, null, EVENT_TYPE, START.plusDays(day), 0.7);
+        }
+
+        assertThat(forecaster.forecast(HistoricalRecord.DEFAULT_VENUE, null, EVENT_TYPE, START.plusDays(130)))
+                .isCloseTo(0.7, within(1e-6));
+    }
+
+    @Test
+    void weekendsThatRunHigherAreForecastHigher() {
+        for (int day = 0; day < 364; day++) {
+            LocalDate date = START.plusDays(day);
+            forecaster.observe("hall", null, EVENT_TYPE, date, isWeekend(date) ? 1.2 : 0.8);
+        }
+        LocalDate saturday = START.plusDays(364).with(DayOfWeek.SATURDAY);
+        LocalDate tuesday = saturday.minusDays(4);
+
+        double weekend = forecaster.forecast("hall", null, EVENT_TYPE, saturday);
+        double weekday = forecaster.forecast("hall", null, EVENT_TYPE, tuesday);
+
+        assertThat(weekend).isCloseTo(1.2, within(0.1));
+        assertThat(weekday).isCloseTo(0.8, within(0.1));
+    }
+
+    @Test
+    void venuesAreForecastIndependently() {
+        for (int day = 0; day < 60; day++) {
+            forecaster.observe("hall", "rice", EVENT_TYPE, START.plusDays(day), 0.9);
+            forecaster.observe("garden", "rice", EVENT_TYPE, START.plusDays(day), 0.4);
+        }
+
+        assertThat(forecaster.forecast("hall", "rice", EVENT_TYPE, START.plusDays(61))).isCloseTo(0.9, within(1e-6));
+        assertThat(forecaster.forecast("garden", "rice", EVENT_TYPE, START.plusDays(61))).isCloseTo(0.4, within(1e-6));
+        assertThat(forecaster.forecast("terrace", "rice", EVENT_TYPE, START.plusDays(61))).isNaN();
+        assertThat(forecaster.seriesCount()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidRatesAreIgnored() {
+        forecaster.observe("hall", "rice", EVENT_TYPE, START, -0.5);
+        forecaster.observe("hall", "rice", EVENT_TYPE, START, Double.NaN);
+        forecaster.observe("hall", "rice", EVENT_TYPE, START, Double.POSITIVE_INFINITY);
+
+        assertThat(forecaster.generation("hall", "rice", EVENT_TYPE)).isZero();
+        assertThat(forecaster.seriesCount()).isZero();
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+}
@@ -0,0 +1,113 @@
+package com.smartserve.service;
+
+import com.smartserve.config.ForecastModelProperties;
+import com.smartserve.config.ForecastRulesProperties;
+import com.smartserve.model.EventDetails;
+import com.smartserve.model.ForecastResponse;
+import com.smartserve.model.HistoricalDataItem;
+import com.smartserve.model.HistoricalRecord;
+import com.smartserve.model.MenuForecastResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MenuForecastServiceTest {
+
+    private static final List<String> MENU = List.of("rice", "dal", "paneer", "naan", "salad",
+            "soup", "pasta", "curry", "dessert", "fruit");
+
+    private FoodForecastService foodForecastService;
+    private MenuForecastService menuForecastService;
+    private HoltWintersForecaster forecaster;
+    private EventDetails event;
+
+    @BeforeEach
+    void setUp() {
+        ForecastRulesEngine rulesEngine = new ForecastRulesEngine(new ForecastRulesProperties(), null, event -> { });
+        HistoricalDataService historicalDataService = new HistoricalDataService(new ConsumptionAggregateStore(null), null, 365);
+        ForecastModelProperties properties = new ForecastModelProperties();
+        forecaster = new HoltWintersForecaster(new HoltWintersForecaster.Parameters(properties.getAlpha(), properties.getBeta(),
+                properties.getGamma(), properties.getDelta(), properties.getPhi(), properties.getMinObservations()));
+        ForecastMetrics metrics = new ForecastMetrics(new SimpleMeterRegistry());
+        foodForecastService = new FoodForecastService(historicalDataService, rulesEngine, null, metrics, forecaster);
+        menuForecastService = new MenuForecastService(foodForecastService, historicalDataService, forecaster, metrics);
+        event = new EventDetails("Holiday Party", "Families", 200, "2024-06-01");
+    }
+
+    @Test
+    void itemRowsGiveItemRatesAndEventRowsAreSharedAmongUnknownItems() {
+        List<HistoricalDataItem> history = List.of(
+                item(null, 100, 80),
+                item(null, 100, 60),
+                item("rice", 100, 30),
+                item("rice", 100, 50),
+                item("bread", 100, 90));
+
+        double[] rates = MenuForecastService.ratesFromHistory(List.of("rice", "dal"), history);
+
+        assertThat(rates[0]).isCloseTo(0.4, within(1e-9));
+        // Event rate 0.7, split over a two-item menu; the off-menu "bread" row is ignored.
+        assertThat(rates[1]).isCloseTo(0.35, within(1e-9));
+    }
+
+    @Test
+    void menuOfUnknownItemsStaysWithinTheEventForecastFromRequestHistory() {
+        List<HistoricalDataItem> history = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            history.add(item(null, 100, 70 + i % 20));
+        }
+        int eventQuantity = foodForecastService.predictFoodPreparation(
+                history, event.getEventTypeId(), event.getAudienceProfileId(), event.getFootfall()).getPredictedFoodQuantity();
+
+        MenuForecastResponse menu = new MenuForecastResponse(menuForecastService.forecastMenu(event, MENU, history), event.getFootfall());
+
+        // Each item is rounded on its own, so allow half a unit per item.
+        assertThat(menu.getTotalPredictedFoodQuantity()).isBetween(eventQuantity - MENU.size() / 2, eventQuantity + MENU.size() / 2);
+    }
+
+    @Test
+    void menuOfUnknownItemsStaysWithinTheEventForecastFromStoredHistory() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int day = 0; day < 120; day++) {
+            forecaster.observe(HistoricalRecord.DEFAULT_VENUE, null, event.getEventType(), start.plusDays(day), 0.8);
+        }
+        int eventQuantity = foodForecastService.predictWithConsumptionRate(
+                forecaster.forecast(HistoricalRecord.DEFAULT_VENUE, null, event.getEventType(), event.getLocalDate()),
+                event.getEventTypeId(), event.getAudienceProfileId(), event.getFootfall()).getPredictedFoodQuantity();
+
+        MenuForecastResponse menu = new MenuForecastResponse(menuForecastService.forecastMenu(event, MENU, null), event.getFootfall());
+
+        assertThat(menu.getTotalPredictedFoodQuantity()).isBetween(eventQuantity - MENU.size() / 2, eventQuantity + MENU.size() / 2);
+    }
+
+    @Test
+    void menuWasteReductionIsTheEventsNotTheSumOfItems() {
+        List<HistoricalDataItem> history = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            history.add(item(null, 100, 70 + i % 20));
+        }
+        ForecastResponse eventForecast = foodForecastService.predictFoodPreparation(
+                history, event.getEventTypeId(), event.getAudienceProfileId(), event.getFootfall());
+
+        MenuForecastResponse menu = new MenuForecastResponse(menuForecastService.forecastMenu(event, MENU, history), event.getFootfall());
+
+        // The menu total differs from the event forecast by at most half a unit per item, and so does its waste reduction.
+        assertThat(menu.getTotalWasteReductionPotential()).isBetween(
+                eventForecast.getWasteReductionPotential() - MENU.size() / 2, eventForecast.getWasteReductionPotential() + MENU.size() / 2);
+        assertThat(menu.getTotalWasteReductionPotential()).isEqualTo(
+                Math.max(0, 2 * event.getFootfall() - menu.getTotalPredictedFoodQuantity()));
+    }
+
+    private static HistoricalDataItem item(String itemName, int footfall, int consumed) {
+        HistoricalDataItem item = new HistoricalDataItem("2024-01-01", "Holiday Party", "Families", footfall, footfall, consumed);
+        item.setItemName(itemName);
+        return item;
+    }
+}
@@ -0,0 +1,103 @@
+package com.smartserve.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindQueueTest {
+
+    private final List<List<Integer>> written = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private WriteBehindQueue<Integer> queue;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (queue != null && queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void submissionIsRejectedWholeWhenTheBufferHasNoRoomForIt() throws Exception {
+        queue = start(blockingWriter(), 4, 10, Duration.ofMillis(1));
+        CompletableFuture<Void> first = queue.submitAll(List.of(1, 2, 3));
+
+        assertThatThrownBy(() -> queue.submitAll(List.of(4, 5)))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(queue.pending()).isEqualTo(3);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(written).containsExactly(List.of(1, 2, 3));
+        queue.submitAll(List.of(4, 5)).get(5, TimeUnit.SECONDS);
+        assertThat(written).containsExactly(List.of(1, 2, 3), List.of(4, 5));
+    }
+
+    @Test
+    void submissionLargerThanTheBufferIsWrittenInOnePiece() throws Exception {
+        queue = start(written::add, 4, 2, Duration.ofMillis(1));
+
+        queue.submitAll(List.of(1, 2, 3, 4, 5, 6)).get(5, TimeUnit.SECONDS);
+
+        assertThat(written).containsExactly(List.of(1, 2, 3, 4, 5, 6));
+        assertThat(queue.pending()).isZero();
+    }
+
+    @Test
+    void failedWriteFailsItsSubmittersAndFreesTheirSpace() {
+        queue = start(items -> {
+            throw new AssertionError("disk full");
+        }, 2, 10, Duration.ofMillis(1));
+
+        CompletableFuture<Void> done = queue.submitAll(List.of(1, 2));
+
+        assertThatThrownBy(() -> done.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+        assertThat(queue.pending()).isZero();
+    }
+
+    @Test
+    void stopFlushesPendingItemsAndRejectsLaterOnes() throws Exception {
+        queue = start(written::add, 100, 100, Duration.ofSeconds(10));
+        CompletableFuture<Void> first = queue.submit(1);
+        CompletableFuture<Void> second = queue.submit(2);
+
+        queue.stop();
+
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(written.stream().flatMap(List::stream)).containsExactly(1, 2);
+        assertThatThrownBy(() -> queue.submit(3)).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    private Consumer<List<Integer>> blockingWriter() {
+        return items -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(items);
+        };
+    }
+
+    private static WriteBehindQueue<Integer> start(Consumer<List<Integer>> writer, int capacity, int batchSize, Duration maxDelay) {
+        WriteBehindQueue<Integer> queue = new WriteBehindQueue<>("test", writer, capacity, batchSize, maxDelay, Duration.ofMillis(50));
+        queue.start();
+        return queue;
+    }
+}